@@ -0,0 +1,242 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.web.ServerTiming;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process cache of the upstream roster with stale-while-revalidate semantics.
+ *
+ * <ul>
+ *   <li>younger than {@code ttl - refreshAhead}: served from memory</li>
+ *   <li>younger than {@code ttl}: served from memory, a background refresh is started</li>
+ *   <li>younger than {@code ttl + maxStale}: served stale, a background refresh is started</li>
+ *   <li>older, or nothing cached yet: the caller waits for the refresh</li>
+ * </ul>
+ *
+ * At most one refresh runs at a time; concurrent callers that need to wait share it. A refresh runs on behalf of the
+ * caller that started it and waits for it, so its upstream time shows up in that caller's {@link ServerTiming}; the
+ * callers that join it record their wait as {@code cache-wait}. Background refreshes are charged to no request.
+ */
+public class RosterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterCache.class);
+
+    private final Supplier<RosterSnapshot> loader;
+    private final RosterCacheSettings settings;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlight = new AtomicReference<>();
+
+    // Local changes made while a refresh is in flight, with the generation each was made at; guarded by itself.
+    private final List<Patch> patches = new ArrayList<>();
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public RosterCache(Supplier<RosterSnapshot> loader, RosterCacheSettings settings) {
+        this(loader, settings, Executors.newSingleThreadExecutor(RosterCache::refreshThread), Clock.systemUTC());
+    }
+
+    public RosterCache(
+            Supplier<RosterSnapshot> loader, RosterCacheSettings settings, Executor refreshExecutor, Clock clock) {
+        this.loader = loader;
+        this.settings = settings;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    public RosterSnapshot get() {
+        if (!settings.enabled()) {
+            misses.increment();
+            return loader.get();
+        }
+        return await(lookup(ServerTiming.current()));
+    }
+
+    /**
+     * Same as {@link #get()}, but never blocks the caller: when the roster has to be loaded first, the returned future
+     * completes once the refresh does.
+     */
+    public CompletableFuture<RosterSnapshot> getAsync() {
+        ServerTiming timing = ServerTiming.current();
+        if (!settings.enabled()) {
+            misses.increment();
+            return CompletableFuture.supplyAsync(() -> timing.callAsCurrent(loader), refreshExecutor);
+        }
+        return lookup(timing);
+    }
+
+    /**
+     * @param timing the timing of the caller, which waits for the returned future
+     */
+    private CompletableFuture<RosterSnapshot> lookup(ServerTiming timing) {
+        RosterSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            misses.increment();
+            return refresh(timing);
+        }
+        Duration age = snapshot.age(clock.instant());
+        if (age.compareTo(settings.ttl().minus(settings.refreshAhead())) < 0) {
+            hits.increment();
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        if (age.compareTo(settings.ttl()) < 0) {
+            hits.increment();
+            refresh(ServerTiming.untimed());
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        if (age.compareTo(settings.ttl().plus(settings.maxStale())) < 0) {
+            staleHits.increment();
+            logger.debug("Serving roster that is {}s old while it is refreshed", age.toSeconds());
+            refresh(ServerTiming.untimed());
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        misses.increment();
+        return refresh(timing);
+    }
+
+    /**
+     * Applies a local change (e.g. a successful create) to the cached roster so it is visible before the next refresh.
+     * A refresh that is running meanwhile may have read the upstream, or the roster it syncs from, before the change
+     * was made, so the change is also applied to the roster that refresh lands; changes must therefore be idempotent.
+     */
+    public void update(UnaryOperator<RosterSnapshot> change) {
+        synchronized (patches) {
+            generation++;
+            current.updateAndGet(snapshot -> snapshot == null ? null : change.apply(snapshot));
+            if (inFlight.get() != null) {
+                patches.add(new Patch(generation, change));
+            }
+        }
+    }
+
+    /**
+     * The most recently loaded roster regardless of age, for use as a fallback when it cannot be refreshed.
+     */
+    public Optional<RosterSnapshot> lastKnownGood() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    public RosterCacheStats stats() {
+        RosterSnapshot snapshot = current.get();
+        return new RosterCacheStats(
+                hits.sum(),
+                staleHits.sum(),
+                misses.sum(),
+                refreshes.sum(),
+                refreshFailures.sum(),
+                snapshot == null ? 0 : snapshot.size(),
+                snapshot == null ? Duration.ZERO : snapshot.age(clock.instant()));
+    }
+
+    /**
+     * @param waiter the timing of the caller that waits for the refresh, or {@link ServerTiming#untimed()}
+     */
+    private CompletableFuture<RosterSnapshot> refresh(ServerTiming waiter) {
+        while (true) {
+            CompletableFuture<RosterSnapshot> running = inFlight.get();
+            if (running != null) {
+                if (!waiter.isEnabled()) {
+                    return running;
+                }
+                long joinedAt = System.nanoTime();
+                return running.whenComplete(
+                        (snapshot, e) -> waiter.recordSince(ServerTiming.Phase.CACHE_WAIT, joinedAt));
+            }
+            CompletableFuture<RosterSnapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                refreshExecutor.execute(() -> load(future, waiter));
+                return future;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<RosterSnapshot> future, ServerTiming waiter) {
+        long start = System.nanoTime();
+        long startedAt;
+        synchronized (patches) {
+            startedAt = generation;
+        }
+        try {
+            RosterSnapshot snapshot = land(waiter.callAsCurrent(loader), startedAt);
+            refreshes.increment();
+            logger.info(
+                    "Roster refreshed with {} employees in {}ms (hits={}, staleHits={}, misses={})",
+                    snapshot.size(),
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    hits.sum(),
+                    staleHits.sum(),
+                    misses.sum());
+            future.complete(snapshot);
+        } catch (Throwable e) {
+            refreshFailures.increment();
+            logger.warn("Roster refresh failed: {}", e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            synchronized (patches) {
+                patches.clear();
+                inFlight.compareAndSet(future, null);
+            }
+        }
+    }
+
+    /*
+     * Installs a freshly loaded roster with the local changes made since its refresh started re-applied, so a refresh
+     * never undoes a write the caller has already seen succeed.
+     */
+    private RosterSnapshot land(RosterSnapshot loaded, long startedAt) {
+        synchronized (patches) {
+            RosterSnapshot snapshot = loaded;
+            for (Patch patch : patches) {
+                if (patch.generation() > startedAt) {
+                    snapshot = patch.change().apply(snapshot);
+                }
+            }
+            current.set(snapshot);
+            return snapshot;
+        }
+    }
+
+    private static RosterSnapshot await(CompletableFuture<RosterSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Thread refreshThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Patch(long generation, UnaryOperator<RosterSnapshot> change) {}
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+
+/**
+ * @param enabled when {@code false} every read goes straight to the upstream
+ * @param ttl how long a fetched roster is considered fresh
+ * @param refreshAhead window before {@code ttl} expires in which a read triggers a background refresh
+ * @param maxStale how long past {@code ttl} a roster may still be served while a refresh is running
+ * @param deltaSync when {@code true} a refresh applies the upstream change log to the cached roster instead of
+ *     reloading it
+ */
+public record RosterCacheSettings(
+        boolean enabled, Duration ttl, Duration refreshAhead, Duration maxStale, boolean deltaSync) {}
@@ -0,0 +1,6 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+
+public record RosterCacheStats(
+        long hits, long staleHits, long misses, long refreshes, long refreshFailures, int size, Duration age) {}
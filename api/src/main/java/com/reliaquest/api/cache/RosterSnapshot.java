@@ -0,0 +1,154 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of the upstream roster as it was at {@link #fetchedAt()}, together with the indexes built over it.
+ * Local creates and deletes are applied by deriving a new snapshot whose indexes are patched rather than rebuilt;
+ * the original fetch time is kept so the TTL still reflects upstream freshness. The roster list and both indexes are
+ * copied for every patch, so a single create or delete costs O(n); it avoids the sort and tokenizing of a rebuild.
+ */
+public record RosterSnapshot(
+        List<Employee> employees, SalaryIndex salaryIndex, NameIndex nameIndex, Instant fetchedAt) {
+
+    /**
+     * Builds a snapshot over {@code employees} without copying it; the caller must not modify the list afterwards.
+     */
+    public static RosterSnapshot of(List<Employee> employees) {
+        return of(employees, Instant.now());
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, Instant fetchedAt) {
+        List<Employee> roster = Collections.unmodifiableList(employees);
+        return new RosterSnapshot(roster, SalaryIndex.of(roster), NameIndex.of(roster), fetchedAt);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    /**
+     * The same roster and indexes, confirmed unchanged by the upstream at {@code now}.
+     */
+    public RosterSnapshot revalidated(Instant now) {
+        return new RosterSnapshot(employees, salaryIndex, nameIndex, now);
+    }
+
+    /**
+     * Finds the employees with the given IDs in a single pass over the roster.
+     */
+    public Map<UUID, Employee> findByIds(Collection<UUID> ids) {
+        Set<UUID> wanted = new HashSet<>(ids);
+        Map<UUID, Employee> found = new HashMap<>();
+        for (Employee employee : employees) {
+            if (wanted.contains(employee.id())) {
+                found.putIfAbsent(employee.id(), employee);
+                if (found.size() == wanted.size()) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds {@code employee} unless an employee with its ID is already present, so applying it twice is harmless.
+     */
+    public RosterSnapshot withEmployee(Employee employee) {
+        for (Employee existing : employees) {
+            if (existing.id().equals(employee.id())) {
+                return this;
+            }
+        }
+        List<Employee> updated = new ArrayList<>(employees.size() + 1);
+        updated.addAll(employees);
+        updated.add(employee);
+        return new RosterSnapshot(
+                Collections.unmodifiableList(updated),
+                salaryIndex.with(employee),
+                nameIndex.with(employee),
+                fetchedAt);
+    }
+
+    /**
+     * Adds a batch of employees. Unlike {@link #withEmployee(Employee)} the indexes are rebuilt once rather than
+     * patched per employee; ordering is the same either way. Employees already present are skipped.
+     */
+    public RosterSnapshot withEmployees(Collection<Employee> added) {
+        return withChanges(added, List.of());
+    }
+
+    /**
+     * Applies changes read from the upstream change log: {@code deleted} are removed, then {@code created} are added
+     * unless already present. Both are idempotent, so changes this roster already reflects, such as those made
+     * through this service and patched in locally, may be applied again.
+     */
+    public RosterSnapshot withChanges(Collection<Employee> created, Collection<UUID> deleted) {
+        if (created.isEmpty() && deleted.isEmpty()) {
+            return this;
+        }
+        Set<UUID> removed = new HashSet<>(deleted);
+        Map<UUID, Employee> added = new LinkedHashMap<>();
+        created.forEach(employee -> added.put(employee.id(), employee));
+        List<Employee> updated = new ArrayList<>(employees.size() + added.size());
+        for (Employee employee : employees) {
+            added.remove(employee.id());
+            if (!removed.contains(employee.id())) {
+                updated.add(employee);
+            }
+        }
+        if (added.isEmpty() && updated.size() == employees.size()) {
+            return this;
+        }
+        updated.addAll(added.values());
+        return of(updated, fetchedAt);
+    }
+
+    public RosterSnapshot withoutEmployees(Collection<UUID> ids) {
+        Set<UUID> removed = new HashSet<>(ids);
+        List<Employee> updated = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            if (!removed.contains(employee.id())) {
+                updated.add(employee);
+            }
+        }
+        return updated.size() == employees.size() ? this : of(updated, fetchedAt);
+    }
+
+    /**
+     * Removes the employee with {@code id}, patching the indexes instead of rebuilding them.
+     */
+    public RosterSnapshot withoutEmployee(UUID id) {
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (id.equals(employee.id())) {
+                List<Employee> updated = new ArrayList<>(employees);
+                updated.remove(i);
+                return new RosterSnapshot(
+                        Collections.unmodifiableList(updated),
+                        salaryIndex.without(employee),
+                        nameIndex.without(employee),
+                        fetchedAt);
+            }
+        }
+        return this;
+    }
+}
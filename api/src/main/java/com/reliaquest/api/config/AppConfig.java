@@ -1,42 +1,184 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.cache.RosterCacheSettings;
 import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.exceptions.RateLimitedException;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.RateLimiterSettings;
+import com.reliaquest.api.upstream.RetryBudget;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.core.IntervalFunction;
-import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public UpstreamRetries upstreamRetries(
+            RetryBudget retryBudget,
+            ScheduledExecutorService upstreamRetryScheduler,
+            CircuitBreaker upstreamCircuitBreaker,
+            Bulkhead upstreamBulkhead,
+            MeterRegistry meterRegistry,
+            @Value("${upstream.retry.max-attempts:5}") int maxAttempts,
+            @Value("${upstream.retry.blocking-max-attempts:2}") int blockingMaxAttempts,
+            @Value("${upstream.retry.initial-backoff:2s}") Duration initialBackoff) {
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialBackoff(initialBackoff.toMillis(), 2))
+                .retryOnException(AppConfig::isRetryable)
+                .build();
+        RetryConfig blockingRetryConfig =
+                RetryConfig.from(retryConfig).maxAttempts(blockingMaxAttempts).build();
+
+        return new UpstreamRetries(
+                retryConfig,
+                blockingRetryConfig,
+                retryBudget,
+                upstreamRetryScheduler,
+                upstreamCircuitBreaker,
+                upstreamBulkhead,
+                meterRegistry);
     }
 
+    /**
+     * The circuit breaker and bulkhead come from registries so their metrics can be bound through them.
+     */
     @Bean
-    public Retry retry() {
-        RetryConfig retryConfig = RetryConfig.custom()
-                .maxAttempts(5)
-                .intervalFunction(IntervalFunction.ofExponentialBackoff(2000, 2))
-                .retryOnException(e -> {
-                    if (e instanceof HttpClientErrorException) {
-                        HttpClientErrorException httpException = (HttpClientErrorException) e;
-                        return httpException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
-                    }
-                    if (e instanceof ApiException) {
-                        ApiException apiException = (ApiException) e;
-                        return apiException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
-                    }
-                    return false;
-                })
+    public CircuitBreakerRegistry upstreamCircuitBreakerRegistry(
+            @Value("${upstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${upstream.circuit-breaker.sliding-window-size:10}") int slidingWindowSize,
+            @Value("${upstream.circuit-breaker.wait-in-open-state:30s}") Duration waitInOpenState) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(5, slidingWindowSize))
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .recordException(AppConfig::isUpstreamFailure)
                 .build();
 
-        return Retry.of("employeeServiceRetry", retryConfig);
+        return CircuitBreakerRegistry.of(circuitBreakerConfig);
+    }
+
+    @Bean
+    public CircuitBreaker upstreamCircuitBreaker(CircuitBreakerRegistry upstreamCircuitBreakerRegistry) {
+        return upstreamCircuitBreakerRegistry.circuitBreaker("employeeServiceCircuitBreaker");
+    }
+
+    @Bean
+    public BulkheadRegistry upstreamBulkheadRegistry(
+            @Value("${upstream.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${upstream.bulkhead.max-wait:0ms}") Duration maxWait) {
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+
+        return BulkheadRegistry.of(bulkheadConfig);
+    }
+
+    /**
+     * Caps concurrent upstream calls; a call that finds it full fails at once rather than queueing.
+     */
+    @Bean
+    public Bulkhead upstreamBulkhead(BulkheadRegistry upstreamBulkheadRegistry) {
+        return upstreamBulkheadRegistry.bulkhead("employeeServiceBulkhead");
+    }
+
+    /**
+     * Only schedules retry attempts; the attempts themselves are non-blocking, so one thread is enough.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService upstreamRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retries 429s returned by the upstream. Requests the rate limiter refused locally are not retried: the
+     * upstream is known to reject them until the block has passed.
+     */
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return isRetryable(e.getCause());
+        }
+        if (e instanceof RateLimitedException) {
+            return false;
+        }
+        if (e instanceof HttpClientErrorException) {
+            HttpClientErrorException httpException = (HttpClientErrorException) e;
+            return httpException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        if (e instanceof ApiException) {
+            ApiException apiException = (ApiException) e;
+            return apiException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    /**
+     * Counts 429s, 5xx answers and transport errors against the upstream; 4xx answers such as a missing employee are
+     * the upstream working as intended, and local rate limiter refusals never reached it.
+     */
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return isUpstreamFailure(e.getCause());
+        }
+        if (e instanceof RateLimitedException) {
+            return false;
+        }
+        if (e instanceof ApiException) {
+            int statusCode = ((ApiException) e).getStatusCode();
+            return statusCode == HttpStatus.TOO_MANY_REQUESTS.value() || statusCode >= 500;
+        }
+        if (e instanceof HttpClientErrorException) {
+            return ((HttpClientErrorException) e).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    @Bean
+    public RetryBudget retryBudget(
+            @Value("${upstream.retry.budget-ratio:0.2}") double ratio,
+            @Value("${upstream.retry.budget-max:10}") int maxBalance) {
+        return new RetryBudget(ratio, maxBalance);
+    }
+
+    @Bean
+    public AdaptiveRateLimiter adaptiveRateLimiter(
+            @Value("${upstream.rate-limit.enabled:true}") boolean enabled,
+            @Value("${upstream.rate-limit.initial-window:30s}") Duration initialWindow,
+            @Value("${upstream.rate-limit.max-window:5m}") Duration maxWindow) {
+        return new AdaptiveRateLimiter(new RateLimiterSettings(enabled, initialWindow, maxWindow));
+    }
+
+    @Bean
+    public RosterCacheSettings rosterCacheSettings(
+            @Value("${roster.cache.enabled:true}") boolean enabled,
+            @Value("${roster.cache.ttl:30s}") Duration ttl,
+            @Value("${roster.cache.refresh-ahead:5s}") Duration refreshAhead,
+            @Value("${roster.cache.max-stale:5m}") Duration maxStale,
+            @Value("${roster.cache.delta-sync:true}") boolean deltaSync) {
+        return new RosterCacheSettings(enabled, ttl, refreshAhead, maxStale, deltaSync);
     }
 
     @Bean
@@ -0,0 +1,151 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.RateLimitingInterceptor;
+import com.reliaquest.api.upstream.ServerTimingInterceptor;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClientSettings httpClientSettings(
+            @Value("${upstream.http.max-connections:50}") int maxConnections,
+            @Value("${upstream.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${upstream.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${upstream.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${upstream.http.compression:true}") boolean compression,
+            @Value("${upstream.http.http2:false}") boolean http2,
+            @Value("${upstream.http.smile:true}") boolean smile) {
+        return new HttpClientSettings(
+                maxConnections,
+                maxConnectionsPerRoute,
+                connectTimeout,
+                readTimeout,
+                keepAlive,
+                compression,
+                http2,
+                smile);
+    }
+
+    /*
+     * The Smile mapper comes from the same builder as Spring Boot's ObjectMapper, so both formats bind alike.
+     */
+    @Bean
+    public UpstreamFormat upstreamFormat(
+            HttpClientSettings settings, ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new UpstreamFormat(
+                objectMapper, objectMapperBuilder.factory(new SmileFactory()).build(), settings.smile());
+    }
+
+    /*
+     * Connections get no time to live: a connection in steady use is kept for as long as the upstream keeps it open.
+     * Only idle ones are closed, after keepAlive, by the client's idle eviction and keep-alive strategy.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(HttpClientSettings settings) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(settings.connectTimeout()))
+                        .setSocketTimeout(timeout(settings.readTimeout()))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Non-blocking JDK client used by the async upstream calls. It keeps its own connection pool; with
+     * {@code upstream.http.http2} enabled it is also the transport behind the {@link RestTemplate}.
+     */
+    @Bean
+    public HttpClient asyncHttpClient(HttpClientSettings settings) {
+        return HttpClient.newBuilder()
+                .version(settings.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.connectTimeout())
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(
+            HttpClientSettings settings,
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            HttpClient asyncHttpClient,
+            AdaptiveRateLimiter adaptiveRateLimiter,
+            UpstreamFormat upstreamFormat) {
+        RestTemplate restTemplate =
+                new RestTemplate(requestFactory(settings, upstreamConnectionManager, asyncHttpClient));
+        restTemplate.getMessageConverters().removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+        if (upstreamFormat.prefersSmile()) {
+            restTemplate.getMessageConverters().add(0, upstreamFormat.responseConverter());
+        }
+        restTemplate.getInterceptors().add(new RateLimitingInterceptor(adaptiveRateLimiter));
+        restTemplate.getInterceptors().add(new ServerTimingInterceptor());
+        return restTemplate;
+    }
+
+    private static ClientHttpRequestFactory requestFactory(
+            HttpClientSettings settings,
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            HttpClient asyncHttpClient) {
+        if (settings.http2()) {
+            log.info("Using JDK HTTP/2 client for upstream calls");
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(asyncHttpClient);
+            requestFactory.setReadTimeout(settings.readTimeout());
+            return requestFactory;
+        }
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(upstreamConnectionManager)
+                .setConnectionManagerShared(true)
+                .setKeepAliveStrategy((response, context) -> timeValue(settings.keepAlive()))
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(settings.keepAlive()))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(settings.connectTimeout()))
+                        .setResponseTimeout(timeout(settings.readTimeout()))
+                        .build());
+        if (!settings.compression()) {
+            httpClientBuilder.disableContentCompression();
+        }
+        CloseableHttpClient httpClient = httpClientBuilder.build();
+        log.info(
+                "Using pooled upstream HTTP client (max {} connections, {} per route, compression {})",
+                settings.maxConnections(),
+                settings.maxConnectionsPerRoute(),
+                settings.compression() ? "enabled" : "disabled");
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+
+/**
+ * Outbound HTTP client settings for calls to the upstream employee service.
+ *
+ * @param maxConnections pooled connections across all routes
+ * @param maxConnectionsPerRoute pooled connections to a single host
+ * @param connectTimeout time to establish a connection, also used as the wait for a pooled connection
+ * @param readTimeout maximum inactivity while waiting for response data
+ * @param keepAlive how long an idle connection is kept for reuse
+ * @param compression whether gzip/deflate responses are requested and transparently decoded
+ * @param http2 use the JDK client with HTTP/2 instead of the pooled HTTP/1.1 client
+ * @param smile ask for Smile-encoded responses before JSON
+ */
+public record HttpClientSettings(
+        int maxConnections,
+        int maxConnectionsPerRoute,
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration keepAlive,
+        boolean compression,
+        boolean http2,
+        boolean smile) {}
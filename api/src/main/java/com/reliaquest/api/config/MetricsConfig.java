@@ -0,0 +1,51 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.service.impl.ExternalService;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.ConnectionPoolStats;
+import com.reliaquest.api.upstream.RetryBudget;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import com.reliaquest.api.web.ServerTimingFilter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters scraped through {@code /actuator/prometheus}. Per-endpoint request timers are Spring's own
+ * {@code http.server.requests}; the per-request {@code Server-Timing} breakdown is opt-in through
+ * {@code server-timing.enabled}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ApiMetrics apiMetrics(
+            ExternalService externalService,
+            UpstreamRetries upstreamRetries,
+            RetryBudget retryBudget,
+            AdaptiveRateLimiter adaptiveRateLimiter,
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            CircuitBreakerRegistry upstreamCircuitBreakerRegistry,
+            BulkheadRegistry upstreamBulkheadRegistry) {
+        return new ApiMetrics(
+                externalService::getRosterCacheStats,
+                externalService::getSingleFlightStats,
+                retryBudget::stats,
+                adaptiveRateLimiter::stats,
+                () -> ConnectionPoolStats.of(upstreamConnectionManager),
+                upstreamRetries.getRetryRegistry(),
+                upstreamCircuitBreakerRegistry,
+                upstreamBulkheadRegistry);
+    }
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter(
+            @Value("${server-timing.enabled:false}") boolean enabled,
+            @Value("${server-timing.log-sample-rate:0.0}") double logSampleRate) {
+        return new ServerTimingFilter(enabled, logSampleRate);
+    }
+}
@@ -3,11 +3,18 @@ package com.reliaquest.api.controller.impl;
 import static org.springframework.http.ResponseEntity.*;
 
 import com.reliaquest.api.controller.IEmployeeController;
+import com.reliaquest.api.dto.BatchGetRequest;
+import com.reliaquest.api.dto.BulkCreateRequest;
+import com.reliaquest.api.dto.BulkDeleteRequest;
+import com.reliaquest.api.dto.BulkItemResult;
+import com.reliaquest.api.dto.EmployeeBatch;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IEmployeeService;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -33,6 +40,13 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ok(employeeService.getAllEmployees());
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<EmployeePage> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Handling request to fetch a page of {} employees", limit);
+        return ok(employeeService.getEmployeesPage(limit, cursor));
+    }
+
     @GetMapping("/search/{nameFragment}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String nameFragment) {
         log.info("Handling request to search employees with name fragment: {}", nameFragment);
@@ -49,6 +63,12 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ok(employee);
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<EmployeeBatch> getEmployeesByIds(@RequestBody @Validated BatchGetRequest request) {
+        log.info("Handling request to fetch {} employees by ID", request.ids().size());
+        return ok(employeeService.getEmployeesByIds(request.ids()));
+    }
+
     @GetMapping("/highest-salary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         log.info("Handling request to fetch the highest salary of employees");
@@ -61,6 +81,12 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ok(employeeService.getTop10HighestEarningEmployeeNames());
     }
 
+    @GetMapping("/top-salaries")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam("n") int count) {
+        log.info("Handling request to fetch top {} highest earning employees", count);
+        return ok(employeeService.getTopHighestEarningEmployeeNames(count));
+    }
+
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@RequestBody @Validated EmployeeRequest employee) {
         log.info("Handling request to create a new employee");
@@ -68,9 +94,66 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return status(HttpStatus.CREATED).body(createdEmployee);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> createEmployees(@RequestBody @Validated BulkCreateRequest request) {
+        log.info("Handling request to create {} employees", request.employees().size());
+        return ok(employeeService.createEmployees(request.employees()));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> deleteEmployees(@RequestBody @Validated BulkDeleteRequest request) {
+        log.info("Handling request to delete {} employees", request.ids().size());
+        return ok(employeeService.deleteEmployeesByIds(request.ids()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         log.info("Handling request to delete employee by ID: {}", id);
         return ok(employeeService.deleteEmployeeById(id));
     }
+
+    // Non-blocking variants: the servlet thread is released as soon as the upstream call is issued and the response
+    // is written when the returned future completes. Their retries wait on a scheduler, while the endpoints above,
+    // whose signatures IEmployeeController fixes, sleep the servlet thread between attempts and so retry less.
+
+    @GetMapping("/async")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployeesAsync() {
+        log.info("Handling async request to fetch all employees");
+        return employeeService.getAllEmployeesAsync().thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/search/{nameFragment}")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearchAsync(
+            @PathVariable String nameFragment) {
+        log.info("Handling async request to search employees with name fragment: {}", nameFragment);
+        return employeeService.getEmployeesByNameSearchAsync(nameFragment).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/{id}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeByIdAsync(@PathVariable String id) {
+        log.info("Handling async request to fetch employee by ID: {}", id);
+        return employeeService.getEmployeeByIdAsync(UUID.fromString(id)).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/highest-salary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployeesAsync() {
+        log.info("Handling async request to fetch the highest salary of employees");
+        return employeeService.getHighestSalaryOfEmployeesAsync().thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/top-salaries")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNamesAsync(
+            @RequestParam(value = "n", defaultValue = "10") int count) {
+        log.info("Handling async request to fetch top {} highest earning employees", count);
+        return employeeService.getTopHighestEarningEmployeeNamesAsync(count).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<Employee>> createEmployeeAsync(
+            @RequestBody @Validated EmployeeRequest employee) {
+        log.info("Handling async request to create a new employee");
+        return employeeService
+                .createEmployeeAsync(employee)
+                .thenApply(created -> status(HttpStatus.CREATED).body(created));
+    }
 }
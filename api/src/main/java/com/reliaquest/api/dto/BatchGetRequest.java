@@ -0,0 +1,12 @@
+package com.reliaquest.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetRequest(@NotEmpty @Size(max = MAX_IDS) List<@NotNull UUID> ids) implements Serializable {
+    public static final int MAX_IDS = 1000;
+}
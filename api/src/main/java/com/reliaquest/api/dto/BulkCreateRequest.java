@@ -0,0 +1,13 @@
+package com.reliaquest.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+public record BulkCreateRequest(@NotEmpty @Size(max = MAX_EMPLOYEES) List<@NotNull @Valid EmployeeRequest> employees)
+        implements Serializable {
+    public static final int MAX_EMPLOYEES = 10_000;
+}
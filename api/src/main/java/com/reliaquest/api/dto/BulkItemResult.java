@@ -0,0 +1,24 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.Employee;
+import java.io.Serializable;
+
+/**
+ * Outcome of one item of a bulk request. {@code index} is the item's position in the request; exactly one of
+ * {@code employee} (the employee created or removed) and {@code error} is present.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Employee employee, String error) implements Serializable {
+    public BulkItemResult() {
+        this(0, null, null);
+    }
+
+    public boolean applied() {
+        return error == null;
+    }
+
+    public BulkItemResult withIndex(int index) {
+        return new BulkItemResult(index, employee, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record BulkResultsResponse(List<BulkItemResult> data, String status) implements Serializable {
+    public BulkResultsResponse() {
+        this(null, null);
+    }
+}
@@ -1,5 +0,0 @@
-package com.reliaquest.api.dto;
-
-import java.io.Serializable;
-
-public record DeleteEmployeeRequest(String name) implements Serializable {}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.dto;
+
+import com.reliaquest.api.model.Employee;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Employees found for a list of IDs, in request order, and the requested IDs that do not exist.
+ */
+public record EmployeeBatch(List<Employee> found, List<UUID> missing) implements Serializable {
+    public EmployeeBatch() {
+        this(null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+
+public record EmployeeBatchResponse(EmployeeBatch data, String status) implements Serializable {
+    public EmployeeBatchResponse() {
+        this(null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.dto;
+
+import com.reliaquest.api.model.Employee;
+import java.io.Serializable;
+
+/**
+ * One entry of the upstream roster change log; {@code employee} is the employee as created, or as it was when removed.
+ */
+public record EmployeeChange(long version, Type type, Employee employee) implements Serializable {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public EmployeeChange() {
+        this(0, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of the upstream change log. {@code truncated} means the log no longer reaches the version asked for and the
+ * roster has to be reloaded; {@code epoch} changes whenever the upstream restarts with a new roster.
+ */
+public record EmployeeChanges(
+        String epoch, long version, boolean truncated, boolean hasMore, List<EmployeeChange> changes)
+        implements Serializable {
+    public EmployeeChanges() {
+        this(null, 0, false, false, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+
+public record EmployeeChangesResponse(EmployeeChanges data, String status) implements Serializable {
+    public EmployeeChangesResponse() {
+        this(null, null);
+    }
+}
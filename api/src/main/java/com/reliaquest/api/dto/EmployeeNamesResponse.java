@@ -0,0 +1,10 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record EmployeeNamesResponse(List<String> data, String status) implements Serializable {
+    public EmployeeNamesResponse() {
+        this(null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.Employee;
+import java.io.Serializable;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeePage(List<Employee> employees, String nextCursor) implements Serializable {
+    public EmployeePage() {
+        this(null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+
+public record EmployeePageResponse(EmployeePage data, String status) implements Serializable {
+    public EmployeePageResponse() {
+        this(null, null);
+    }
+}
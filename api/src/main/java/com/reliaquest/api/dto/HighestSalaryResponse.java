@@ -0,0 +1,9 @@
+package com.reliaquest.api.dto;
+
+import java.io.Serializable;
+
+public record HighestSalaryResponse(Integer data, String status) implements Serializable {
+    public HighestSalaryResponse() {
+        this(null, null);
+    }
+}
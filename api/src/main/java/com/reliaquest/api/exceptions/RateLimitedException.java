@@ -0,0 +1,20 @@
+package com.reliaquest.api.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Thrown without contacting the upstream when it is known to be rate limiting us; {@link #getRetryAfter()} is the
+ * earliest time a request may succeed again.
+ */
+public class RateLimitedException extends ApiException {
+    private final Duration retryAfter;
+
+    public RateLimitedException(String message, Duration retryAfter) {
+        super(message, 429);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.exceptions;
+
+/**
+ * Thrown without contacting the upstream when its circuit breaker is open or too many calls to it are already in
+ * flight.
+ */
+public class UpstreamUnavailableException extends ApiException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message, 503);
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable trigram inverted index over lower-cased employee names.
+ *
+ * <p>{@link #search(String)} returns exactly the employees whose {@code employeeName().toLowerCase()} contains
+ * {@code fragment.toLowerCase()}, in roster order. Fragments of three or more characters intersect the posting lists
+ * of their trigrams and only verify the surviving candidates; shorter fragments scan the pre-normalized names.
+ *
+ * <p>Added employees are appended and removed employees are tombstoned, so patches never renumber existing postings.
+ * Once tombstones make up a quarter of the index it is rebuilt.
+ *
+ * <p>Patches are copy-on-write, so each one is O(n) in the size of the roster. {@link #with(Employee)} copies the
+ * employee and name arrays and the postings map; the posting lists themselves are shared, except those of the new
+ * name's trigrams. {@link #without(Employee)} scans for the employee and copies both arrays. What a patch saves over
+ * {@link #of(Collection)} is re-tokenizing every name and rebuilding every posting list.
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Employee[] employees;
+    private final String[] normalizedNames;
+    private final Map<String, int[]> postings;
+    private final int removed;
+
+    private NameIndex(Employee[] employees, String[] normalizedNames, Map<String, int[]> postings, int removed) {
+        this.employees = employees;
+        this.normalizedNames = normalizedNames;
+        this.postings = postings;
+        this.removed = removed;
+    }
+
+    public static NameIndex of(Collection<Employee> roster) {
+        Employee[] employees = roster.toArray(new Employee[0]);
+        String[] normalizedNames = new String[employees.length];
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int position = 0; position < employees.length; position++) {
+            normalizedNames[position] = normalize(employees[position].employeeName());
+            for (String gram : grams(normalizedNames[position])) {
+                grams.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(position);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(grams.size() * 4 / 3 + 1);
+        grams.forEach((gram, positions) ->
+                postings.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return new NameIndex(employees, normalizedNames, postings, 0);
+    }
+
+    public int size() {
+        return employees.length - removed;
+    }
+
+    public List<Employee> search(String fragment) {
+        String needle = fragment.toLowerCase();
+        List<Employee> matches = new ArrayList<>();
+        if (needle.length() < GRAM) {
+            for (int position = 0; position < employees.length; position++) {
+                if (matches(position, needle)) {
+                    matches.add(employees[position]);
+                }
+            }
+            return matches;
+        }
+        for (int position : candidates(needle)) {
+            if (matches(position, needle)) {
+                matches.add(employees[position]);
+            }
+        }
+        return matches;
+    }
+
+    public NameIndex with(Employee employee) {
+        int position = employees.length;
+        Employee[] updatedEmployees = Arrays.copyOf(employees, position + 1);
+        String[] updatedNames = Arrays.copyOf(normalizedNames, position + 1);
+        updatedEmployees[position] = employee;
+        updatedNames[position] = normalize(employee.employeeName());
+
+        Map<String, int[]> updatedPostings = new HashMap<>(postings);
+        for (String gram : grams(updatedNames[position])) {
+            int[] current = updatedPostings.getOrDefault(gram, NO_POSTINGS);
+            int[] appended = Arrays.copyOf(current, current.length + 1);
+            appended[current.length] = position;
+            updatedPostings.put(gram, appended);
+        }
+        return new NameIndex(updatedEmployees, updatedNames, updatedPostings, removed);
+    }
+
+    public NameIndex without(Employee employee) {
+        for (int position = 0; position < employees.length; position++) {
+            if (employees[position] != null && employees[position].equals(employee)) {
+                Employee[] updatedEmployees = employees.clone();
+                String[] updatedNames = normalizedNames.clone();
+                updatedEmployees[position] = null;
+                updatedNames[position] = null;
+                if ((removed + 1) * 4 > employees.length) {
+                    return of(Arrays.stream(updatedEmployees)
+                            .filter(remaining -> remaining != null)
+                            .toList());
+                }
+                return new NameIndex(updatedEmployees, updatedNames, postings, removed + 1);
+            }
+        }
+        return this;
+    }
+
+    private boolean matches(int position, String needle) {
+        return normalizedNames[position] != null && normalizedNames[position].contains(needle);
+    }
+
+    /** Positions present in the posting list of every trigram of {@code needle}, in ascending order. */
+    private int[] candidates(String needle) {
+        Set<String> needleGrams = grams(needle);
+        int[][] lists = new int[needleGrams.size()][];
+        int i = 0;
+        for (String gram : needleGrams) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                return NO_POSTINGS;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists[0];
+        int count = candidates.length;
+        for (int l = 1; l < lists.length && count > 0; l++) {
+            int[] kept = new int[count];
+            int keptCount = 0;
+            for (int c = 0; c < count; c++) {
+                if (Arrays.binarySearch(lists[l], candidates[c]) >= 0) {
+                    kept[keptCount++] = candidates[c];
+                }
+            }
+            candidates = kept;
+            count = keptCount;
+        }
+        return count == candidates.length ? candidates : Arrays.copyOf(candidates, count);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.toLowerCase();
+    }
+
+    private static Set<String> grams(String normalized) {
+        if (normalized == null || normalized.length() < GRAM) {
+            return Set.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
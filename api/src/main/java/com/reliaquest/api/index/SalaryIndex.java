@@ -0,0 +1,111 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Immutable salary-ordered view of a roster. Employees are kept highest salary first; employees with equal salaries
+ * keep their roster order, so results match a stable sort of the roster by descending salary.
+ *
+ * <p>Building the index sorts once; {@link #with(Employee)} and {@link #without(Employee)} derive a new index with a
+ * binary search and a single array copy instead of re-sorting. That copy is of the whole array, so each patch is
+ * O(n) rather than O(n log n); nothing is shared between an index and the one derived from it.
+ */
+public final class SalaryIndex {
+
+    private static final Comparator<Employee> HIGHEST_SALARY_FIRST =
+            Comparator.comparingInt(Employee::employeeSalary).reversed();
+
+    private final Employee[] bySalaryDesc;
+
+    private SalaryIndex(Employee[] bySalaryDesc) {
+        this.bySalaryDesc = bySalaryDesc;
+    }
+
+    public static SalaryIndex of(Collection<Employee> employees) {
+        Employee[] sorted = employees.toArray(new Employee[0]);
+        Arrays.sort(sorted, HIGHEST_SALARY_FIRST);
+        return new SalaryIndex(sorted);
+    }
+
+    public int size() {
+        return bySalaryDesc.length;
+    }
+
+    public OptionalInt highestSalary() {
+        return bySalaryDesc.length == 0 ? OptionalInt.empty() : OptionalInt.of(bySalaryDesc[0].employeeSalary());
+    }
+
+    public List<Employee> topEarners(int count) {
+        return List.of(Arrays.copyOf(bySalaryDesc, Math.min(Math.max(count, 0), bySalaryDesc.length)));
+    }
+
+    public List<String> topEarnerNames(int count) {
+        int limit = Math.min(Math.max(count, 0), bySalaryDesc.length);
+        String[] names = new String[limit];
+        for (int i = 0; i < limit; i++) {
+            names[i] = bySalaryDesc[i].employeeName();
+        }
+        return Arrays.asList(names);
+    }
+
+    /**
+     * Adds an employee after every existing employee with the same salary, matching an append to the roster.
+     */
+    public SalaryIndex with(Employee employee) {
+        int position = firstIndexBelow(employee.employeeSalary());
+        Employee[] updated = new Employee[bySalaryDesc.length + 1];
+        System.arraycopy(bySalaryDesc, 0, updated, 0, position);
+        updated[position] = employee;
+        System.arraycopy(bySalaryDesc, position, updated, position + 1, bySalaryDesc.length - position);
+        return new SalaryIndex(updated);
+    }
+
+    public SalaryIndex without(Employee employee) {
+        int position = firstIndexAtOrBelow(employee.employeeSalary());
+        while (position < bySalaryDesc.length && bySalaryDesc[position].employeeSalary() == employee.employeeSalary()) {
+            if (bySalaryDesc[position].equals(employee)) {
+                Employee[] updated = new Employee[bySalaryDesc.length - 1];
+                System.arraycopy(bySalaryDesc, 0, updated, 0, position);
+                System.arraycopy(bySalaryDesc, position + 1, updated, position, updated.length - position);
+                return new SalaryIndex(updated);
+            }
+            position++;
+        }
+        return this;
+    }
+
+    /** Index of the first employee earning strictly less than {@code salary}. */
+    private int firstIndexBelow(int salary) {
+        int low = 0;
+        int high = bySalaryDesc.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalaryDesc[mid].employeeSalary() >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Index of the first employee earning {@code salary} or less. */
+    private int firstIndexAtOrBelow(int salary) {
+        int low = 0;
+        int high = bySalaryDesc.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalaryDesc[mid].employeeSalary() > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
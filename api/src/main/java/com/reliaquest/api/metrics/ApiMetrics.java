@@ -0,0 +1,152 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.cache.RosterCacheStats;
+import com.reliaquest.api.upstream.ConnectionPoolStats;
+import com.reliaquest.api.upstream.RateLimiterStats;
+import com.reliaquest.api.upstream.RetryBudgetStats;
+import com.reliaquest.api.upstream.SingleFlightStats;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Publishes the counters the api already keeps for its roster cache and upstream client as meters, read on every
+ * scrape, together with the resilience4j retry, circuit breaker and bulkhead metrics. Request latencies come from
+ * Spring's {@code http.server.requests} and {@code UpstreamRetries}' {@code upstream.calls} timers.
+ */
+public class ApiMetrics implements MeterBinder {
+
+    private final Supplier<RosterCacheStats> rosterCacheStats;
+    private final Supplier<SingleFlightStats> singleFlightStats;
+    private final Supplier<RetryBudgetStats> retryBudgetStats;
+    private final Supplier<RateLimiterStats> rateLimiterStats;
+    private final Supplier<ConnectionPoolStats> connectionPoolStats;
+    private final RetryRegistry retryRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ApiMetrics(
+            Supplier<RosterCacheStats> rosterCacheStats,
+            Supplier<SingleFlightStats> singleFlightStats,
+            Supplier<RetryBudgetStats> retryBudgetStats,
+            Supplier<RateLimiterStats> rateLimiterStats,
+            Supplier<ConnectionPoolStats> connectionPoolStats,
+            RetryRegistry retryRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry) {
+        this.rosterCacheStats = rosterCacheStats;
+        this.singleFlightStats = singleFlightStats;
+        this.retryBudgetStats = retryBudgetStats;
+        this.rateLimiterStats = rateLimiterStats;
+        this.connectionPoolStats = connectionPoolStats;
+        this.retryRegistry = retryRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindRosterCache(registry);
+        bindUpstream(registry);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(registry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(registry);
+    }
+
+    private void bindRosterCache(MeterRegistry registry) {
+        Gauge.builder("roster.cache.size", rosterCacheStats, stats -> stats.get().size())
+                .description("Employees in the cached roster")
+                .baseUnit("employees")
+                .register(registry);
+        TimeGauge.builder("roster.cache.age", rosterCacheStats, TimeUnit.MILLISECONDS, stats -> stats.get()
+                        .age()
+                        .toMillis())
+                .description("Time since the cached roster was fetched or revalidated")
+                .register(registry);
+
+        String requests = "Roster reads by how the cache answered them";
+        counter(registry, "roster.cache.requests", requests, "hit", rosterCacheStats, RosterCacheStats::hits);
+        counter(registry, "roster.cache.requests", requests, "stale", rosterCacheStats, RosterCacheStats::staleHits);
+        counter(registry, "roster.cache.requests", requests, "miss", rosterCacheStats, RosterCacheStats::misses);
+        String outcome = "Roster refreshes by outcome";
+        counter(registry, "roster.cache.refreshes", outcome, "success", rosterCacheStats, RosterCacheStats::refreshes);
+        counter(registry, "roster.cache.refreshes", outcome, "failure", rosterCacheStats, stats -> stats
+                .refreshFailures());
+    }
+
+    private void bindUpstream(MeterRegistry registry) {
+        String rateLimited = "Requests refused for rate limiting, by the upstream with a 429 or locally without a call";
+        FunctionCounter.builder("upstream.rate.limited", rateLimiterStats, stats -> stats.get()
+                        .upstreamRejections())
+                .description(rateLimited)
+                .tag("source", "upstream")
+                .register(registry);
+        FunctionCounter.builder("upstream.rate.limited", rateLimiterStats, stats -> stats.get()
+                        .rejected())
+                .description(rateLimited)
+                .tag("source", "local")
+                .register(registry);
+        TimeGauge.builder("upstream.rate.limiter.blocked", rateLimiterStats, TimeUnit.MILLISECONDS, stats -> stats.get()
+                        .blockedFor()
+                        .toMillis())
+                .description("Time left until requests are let through to the upstream again")
+                .register(registry);
+
+        String calls = "Upstream reads made, or shared with an identical read already in flight";
+        counter(registry, "upstream.single.flight.calls", calls, "executed", singleFlightStats, stats -> stats
+                .executed());
+        counter(registry, "upstream.single.flight.calls", calls, "coalesced", singleFlightStats, stats -> stats
+                .coalesced());
+
+        String retries = "Retries by whether the retry budget allowed them";
+        counter(registry, "upstream.retry.budget.retries", retries, "allowed", retryBudgetStats, stats -> stats
+                .retries());
+        counter(registry, "upstream.retry.budget.retries", retries, "exhausted", retryBudgetStats, stats -> stats
+                .exhausted());
+        Gauge.builder("upstream.retry.budget.balance", retryBudgetStats, stats -> stats.get().balance())
+                .description("Retries currently available in the retry budget")
+                .register(registry);
+
+        connections(registry, "leased", ConnectionPoolStats::leased);
+        connections(registry, "pending", ConnectionPoolStats::pending);
+        connections(registry, "available", ConnectionPoolStats::available);
+        Gauge.builder("upstream.connections.max", connectionPoolStats, stats -> stats.get().max())
+                .description("Upstream connection pool capacity")
+                .register(registry);
+    }
+
+    /*
+     * Meters hold their state object weakly; the suppliers are kept alive by this binder's fields.
+     */
+    private static <S> void counter(
+            MeterRegistry registry,
+            String name,
+            String description,
+            String result,
+            Supplier<S> stats,
+            ToDoubleFunction<S> count) {
+        FunctionCounter.builder(name, stats, supplier -> count.applyAsDouble(supplier.get()))
+                .description(description)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void connections(MeterRegistry registry, String state, ToIntFunction<ConnectionPoolStats> count) {
+        Gauge.builder("upstream.connections", connectionPoolStats, stats -> count.applyAsInt(stats.get()))
+                .description("Upstream connection pool by connection state")
+                .tag("state", state)
+                .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link IExternalService}: every call returns immediately and the future completes
+ * once the upstream has answered. Failures complete the future with an
+ * {@link com.reliaquest.api.exceptions.ApiException}.
+ */
+public interface IAsyncExternalService {
+    CompletableFuture<List<Employee>> getAllEmployees();
+
+    CompletableFuture<List<Employee>> getEmployeesByNameSearch(String nameFragment);
+
+    CompletableFuture<Employee> getEmployeeById(UUID id);
+
+    CompletableFuture<Integer> getHighestSalaryOfEmployees();
+
+    CompletableFuture<List<String>> getTopHighestEarningEmployeeNames(int count);
+
+    CompletableFuture<Employee> createEmployee(EmployeeRequest employee);
+}
@@ -1,22 +1,48 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.dto.BulkItemResult;
+import com.reliaquest.api.dto.EmployeeBatch;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface IEmployeeService {
     List<Employee> getAllEmployees();
 
+    EmployeePage getEmployeesPage(int limit, String cursor);
+
     List<Employee> getEmployeesByNameSearch(String nameFragment);
 
     Employee getEmployeeById(UUID id);
 
+    EmployeeBatch getEmployeesByIds(List<UUID> ids);
+
     int getHighestSalaryOfEmployees();
 
     List<String> getTop10HighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int count);
+
     Employee createEmployee(EmployeeRequest employee);
 
     String deleteEmployeeById(String id);
+
+    List<BulkItemResult> createEmployees(List<EmployeeRequest> employees);
+
+    List<BulkItemResult> deleteEmployeesByIds(List<UUID> ids);
+
+    CompletableFuture<List<Employee>> getAllEmployeesAsync();
+
+    CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String nameFragment);
+
+    CompletableFuture<Employee> getEmployeeByIdAsync(UUID id);
+
+    CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync();
+
+    CompletableFuture<List<String>> getTopHighestEarningEmployeeNamesAsync(int count);
+
+    CompletableFuture<Employee> createEmployeeAsync(EmployeeRequest employee);
 }
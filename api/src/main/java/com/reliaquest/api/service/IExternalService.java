@@ -1,23 +1,40 @@
 package com.reliaquest.api.service;
 
-import com.reliaquest.api.dto.DeleteEmployeeRequest;
+import com.reliaquest.api.dto.BulkItemResult;
+import com.reliaquest.api.dto.EmployeeBatch;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface IExternalService {
     List<Employee> getAllEmployees();
 
+    void forEachEmployee(Consumer<Employee> consumer);
+
+    EmployeePage getEmployeesPage(int limit, String cursor);
+
+    void forEachEmployeePage(int pageSize, Consumer<List<Employee>> pageConsumer);
+
     List<Employee> getEmployeesByNameSearch(String nameFragment);
 
     Employee getEmployeeById(UUID id);
 
+    EmployeeBatch getEmployeesByIds(List<UUID> ids);
+
     int getHighestSalaryOfEmployees();
 
     List<String> getTop10HighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int count);
+
     Employee createEmployee(EmployeeRequest employee);
 
-    boolean deleteEmployeeById(DeleteEmployeeRequest deleteEmployeeRequest);
+    Employee deleteEmployeeById(UUID id);
+
+    List<BulkItemResult> createEmployees(List<EmployeeRequest> employees);
+
+    List<BulkItemResult> deleteEmployeesByIds(List<UUID> ids);
 }
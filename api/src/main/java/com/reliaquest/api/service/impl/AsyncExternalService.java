@@ -0,0 +1,299 @@
+package com.reliaquest.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.config.HttpClientSettings;
+import com.reliaquest.api.dto.EmployeeNamesResponse;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.dto.EmployeeResponse;
+import com.reliaquest.api.dto.EmployeesResponse;
+import com.reliaquest.api.dto.HighestSalaryResponse;
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.exceptions.RateLimitedException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IAsyncExternalService;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import com.reliaquest.api.web.ServerTiming;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link IAsyncExternalService} on top of the JDK {@link HttpClient}: requests are sent with
+ * {@link HttpClient#sendAsync}, so no thread waits on the upstream. Roster queries are answered from the roster
+ * cache shared with {@link ExternalService}; when that cache is disabled, searches and salary queries are pushed down
+ * to the upstream and only the full roster is fetched on every call. Requests go through the same
+ * {@link AdaptiveRateLimiter} as the blocking client, and are answered in the same {@link UpstreamFormat}.
+ */
+@Service
+public class AsyncExternalService implements IAsyncExternalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExternalService.class);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final HttpClientSettings httpClientSettings;
+    private final ExternalService externalService;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final UpstreamRetries upstreamRetries;
+    private final UpstreamFormat upstreamFormat;
+
+    @Autowired
+    public AsyncExternalService(
+            HttpClient asyncHttpClient,
+            String baseUrl,
+            ObjectMapper objectMapper,
+            HttpClientSettings httpClientSettings,
+            ExternalService externalService,
+            AdaptiveRateLimiter rateLimiter,
+            UpstreamRetries upstreamRetries,
+            UpstreamFormat upstreamFormat) {
+        this.httpClient = asyncHttpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClientSettings = httpClientSettings;
+        this.externalService = externalService;
+        this.rateLimiter = rateLimiter;
+        this.upstreamRetries = upstreamRetries;
+        this.upstreamFormat = upstreamFormat;
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return getRosterSnapshot().thenApply(RosterSnapshot::employees);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearch(String nameFragment) {
+        logger.info("Searching employees by name fragment: {}", nameFragment);
+        if (!externalService.isRosterCacheEnabled()) {
+            URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                    .pathSegment("search", nameFragment)
+                    .encode()
+                    .build()
+                    .toUri();
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+            return send(
+                    "getEmployeesByNameSearchAsync",
+                    request,
+                    "Failed to search employees",
+                    response -> read(response, EmployeesResponse.class).getData());
+        }
+        return getRosterSnapshot().thenApply(snapshot -> snapshot.nameIndex().search(nameFragment));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(UUID id) {
+        logger.info("Fetching employee by ID: {}", id);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET();
+        return send(
+                "getEmployeeByIdAsync",
+                request,
+                "Failed to fetch employee by ID: " + id,
+                response -> readEmployee(response, "Employee not found", HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        logger.info("Fetching the highest salary among employees");
+        if (!externalService.isRosterCacheEnabled()) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/highest-salary")).GET();
+            return send(
+                    "getHighestSalaryOfEmployeesAsync",
+                    request,
+                    "No employees found",
+                    response -> read(response, HighestSalaryResponse.class).data());
+        }
+        return getRosterSnapshot().thenApply(snapshot -> snapshot.salaryIndex()
+                .highestSalary()
+                .orElseThrow(() -> new ApiException("No employees found", 404)));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTopHighestEarningEmployeeNames(int count) {
+        logger.info("Fetching top {} highest earning employees", count);
+        if (!externalService.isRosterCacheEnabled()) {
+            URI uri = URI.create(baseUrl + "/top-salaries?n=" + count);
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+            return send(
+                    "getTopHighestEarningEmployeeNamesAsync",
+                    request,
+                    "Failed to fetch top earning employees",
+                    response -> read(response, EmployeeNamesResponse.class).data());
+        }
+        return getRosterSnapshot().thenApply(snapshot -> snapshot.salaryIndex().topEarnerNames(count));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(EmployeeRequest employee) {
+        logger.info("Creating new employee: {}", employee);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(
+                    new ApiException("Failed to create employee", HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        return send(
+                        "createEmployeeAsync",
+                        request,
+                        "Failed to create employee",
+                        response ->
+                                readEmployee(response, "Failed to create employee", HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenApply(created -> {
+                    externalService.onEmployeeCreated(created);
+                    return created;
+                });
+    }
+
+    private CompletableFuture<RosterSnapshot> getRosterSnapshot() {
+        if (externalService.isRosterCacheEnabled()) {
+            return externalService.getRosterSnapshotAsync();
+        }
+        logger.info("Fetching all employees");
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl)).GET();
+        return send("getAllEmployeesAsync", request, "Failed to fetch all employees", response -> {
+                    List<Employee> employees = new ArrayList<>();
+                    try (InputStream body = body(response)) {
+                        upstreamFormat.employeeReader(contentType(response)).read(body, employees::add);
+                    } catch (IOException e) {
+                        throw new ApiException("Failed to read all employees: " + e.getMessage(), 500);
+                    }
+                    return employees;
+                })
+                .thenApply(RosterSnapshot::of);
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+        T value;
+        try (InputStream body = body(response)) {
+            value = upstreamFormat.mapper(contentType(response)).readValue(body, type);
+        } catch (IOException e) {
+            throw new ApiException("Failed to read upstream response: " + e.getMessage(), 500);
+        }
+        if (value == null) {
+            throw new ApiException("Empty upstream response", HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return value;
+    }
+
+    private Employee readEmployee(HttpResponse<byte[]> response, String missingMessage, HttpStatus missingStatus) {
+        EmployeeResponse employeeResponse;
+        try (InputStream body = body(response)) {
+            employeeResponse = upstreamFormat.mapper(contentType(response)).readValue(body, EmployeeResponse.class);
+        } catch (IOException e) {
+            throw new ApiException("Failed to read employee: " + e.getMessage(), 500);
+        }
+        if (employeeResponse == null || employeeResponse.data() == null) {
+            throw new ApiException(missingMessage, missingStatus.value());
+        }
+        return employeeResponse.data();
+    }
+
+    /**
+     * Sends {@code request} without blocking, retrying as {@code operation}, and parses the final answer with
+     * {@code reader}. Transport failures and non-2xx answers complete the returned future with an
+     * {@link ApiException} carrying {@code failureMessage} and the upstream status.
+     * <p>
+     * The exchanges and the parsing are charged to the {@link ServerTiming} of the api request that made the call,
+     * although both complete on other threads.
+     */
+    private <T> CompletableFuture<T> send(
+            String operation,
+            HttpRequest.Builder request,
+            String failureMessage,
+            Function<HttpResponse<byte[]>, T> reader) {
+        ServerTiming timing = ServerTiming.current();
+        return upstreamRetries
+                .executeAsync(operation, () -> sendOnce(request.copy(), failureMessage, timing))
+                .thenApply(response -> {
+                    long start = System.nanoTime();
+                    try {
+                        return reader.apply(response);
+                    } finally {
+                        timing.recordSince(ServerTiming.Phase.DESERIALIZE, start);
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendOnce(
+            HttpRequest.Builder request, String failureMessage, ServerTiming timing) {
+        request.timeout(httpClientSettings.readTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.toString(upstreamFormat.accept()));
+        if (httpClientSettings.compression()) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        try {
+            rateLimiter.acquire();
+        } catch (RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        return httpClient
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    timing.recordSince(ServerTiming.Phase.UPSTREAM, start);
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        throw new ApiException(failureMessage + ": " + cause.getMessage(), 500);
+                    }
+                    if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        rateLimiter.onRateLimited(AdaptiveRateLimiter.parseRetryAfter(
+                                response.headers()
+                                        .firstValue(HttpHeaders.RETRY_AFTER)
+                                        .orElse(null),
+                                Clock.systemUTC()));
+                    } else {
+                        rateLimiter.onSuccess();
+                    }
+                    if (!HttpStatusCode.valueOf(response.statusCode()).is2xxSuccessful()) {
+                        throw new ApiException(failureMessage, response.statusCode());
+                    }
+                    return response;
+                });
+    }
+
+    private static MediaType contentType(HttpResponse<byte[]> response) {
+        return response.headers()
+                .firstValue(HttpHeaders.CONTENT_TYPE)
+                .map(MediaType::parseMediaType)
+                .orElse(null);
+    }
+
+    private static InputStream body(HttpResponse<byte[]> response) throws IOException {
+        InputStream body = new ByteArrayInputStream(response.body());
+        boolean gzipped = response.headers()
+                .firstValue(HttpHeaders.CONTENT_ENCODING)
+                .filter("gzip"::equalsIgnoreCase)
+                .isPresent();
+        return gzipped ? new GZIPInputStream(body) : body;
+    }
+}
@@ -1,20 +1,24 @@
 package com.reliaquest.api.service.impl;
 
-import com.reliaquest.api.dto.DeleteEmployeeRequest;
+import com.reliaquest.api.dto.BatchGetRequest;
+import com.reliaquest.api.dto.BulkCreateRequest;
+import com.reliaquest.api.dto.BulkDeleteRequest;
+import com.reliaquest.api.dto.BulkItemResult;
+import com.reliaquest.api.dto.EmployeeBatch;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.exceptions.ApiException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IAsyncExternalService;
 import com.reliaquest.api.service.IEmployeeService;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
 
 @Service
 public class EmployeeService implements IEmployeeService {
@@ -22,10 +26,12 @@ public class EmployeeService implements IEmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
     private final ExternalService externalService;
+    private final IAsyncExternalService asyncExternalService;
 
     @Autowired
-    public EmployeeService(ExternalService externalService) {
+    public EmployeeService(ExternalService externalService, IAsyncExternalService asyncExternalService) {
         this.externalService = externalService;
+        this.asyncExternalService = asyncExternalService;
     }
 
     @Override
@@ -34,6 +40,20 @@ public class EmployeeService implements IEmployeeService {
         return externalService.getEmployeeById(id);
     }
 
+    @Override
+    public EmployeeBatch getEmployeesByIds(List<UUID> ids) {
+        logger.info("Calling external service to get {} employees by ID", ids == null ? 0 : ids.size());
+        if (ids == null || ids.isEmpty()) {
+            throw new ApiException("At least one employee ID is required", HttpStatus.BAD_REQUEST.value());
+        }
+        if (ids.size() > BatchGetRequest.MAX_IDS) {
+            throw new ApiException(
+                    "At most " + BatchGetRequest.MAX_IDS + " employee IDs can be requested at once",
+                    HttpStatus.BAD_REQUEST.value());
+        }
+        return externalService.getEmployeesByIds(ids);
+    }
+
     @Override
     public Employee createEmployee(EmployeeRequest employee) {
         logger.info("Calling external service to create employee {}", employee);
@@ -43,9 +63,7 @@ public class EmployeeService implements IEmployeeService {
     @Override
     public List<Employee> getEmployeesByNameSearch(String nameFragment) {
         logger.info("Searching employees by name fragment: {}", nameFragment);
-        return getAllEmployees().stream()
-                .filter(employee -> employee.employeeName().toLowerCase().contains(nameFragment.toLowerCase()))
-                .collect(Collectors.toList());
+        return externalService.getEmployeesByNameSearch(nameFragment);
     }
 
     @Override
@@ -54,36 +72,108 @@ public class EmployeeService implements IEmployeeService {
         return externalService.getAllEmployees();
     }
 
+    @Override
+    public EmployeePage getEmployeesPage(int limit, String cursor) {
+        logger.info("Calling external service to get a page of {} employees", limit);
+        if (limit < 1) {
+            throw new ApiException("Page limit must be at least 1", HttpStatus.BAD_REQUEST.value());
+        }
+        return externalService.getEmployeesPage(limit, cursor);
+    }
+
     @Override
     public int getHighestSalaryOfEmployees() {
         logger.info("Figuring out highest salary of the employee");
-        return getAllEmployees().stream()
-                .mapToInt(Employee::employeeSalary)
-                .max()
-                .orElseThrow(() -> new ApiException("No employees found", 404));
+        return externalService.getHighestSalaryOfEmployees();
     }
 
     @Override
     public List<String> getTop10HighestEarningEmployeeNames() {
-        logger.info("Fetching top 10 highest earning employees");
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::employeeSalary).reversed())
-                .limit(10)
-                .map(Employee::employeeName)
-                .collect(Collectors.toList());
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    @Override
+    public List<String> getTopHighestEarningEmployeeNames(int count) {
+        logger.info("Fetching top {} highest earning employees", count);
+        if (count < 1) {
+            throw new ApiException("Number of employees must be at least 1", HttpStatus.BAD_REQUEST.value());
+        }
+        return externalService.getTopHighestEarningEmployeeNames(count);
     }
 
     @Override
     public String deleteEmployeeById(String id) {
-        logger.info("deleting employee by name:  {}", id);
-        Employee employeeById = getEmployeeById(UUID.fromString(id));
-        if (employeeById == null) {
-            throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Employee does exist for id: " + id);
+        logger.info("Deleting employee by ID: {}", id);
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("Invalid employee ID: " + id, HttpStatus.BAD_REQUEST.value());
         }
-        if (externalService.deleteEmployeeById(new DeleteEmployeeRequest(id))) {
-            employeeById.employeeName();
+        return externalService.deleteEmployeeById(uuid).employeeName();
+    }
+
+    @Override
+    public List<BulkItemResult> createEmployees(List<EmployeeRequest> employees) {
+        logger.info("Calling external service to create {} employees", employees == null ? 0 : employees.size());
+        checkBulkSize(employees, BulkCreateRequest.MAX_EMPLOYEES);
+        return externalService.createEmployees(employees);
+    }
+
+    @Override
+    public List<BulkItemResult> deleteEmployeesByIds(List<UUID> ids) {
+        logger.info("Calling external service to delete {} employees", ids == null ? 0 : ids.size());
+        checkBulkSize(ids, BulkDeleteRequest.MAX_IDS);
+        return externalService.deleteEmployeesByIds(ids);
+    }
+
+    private static void checkBulkSize(List<?> items, int maxItems) {
+        if (items == null || items.isEmpty()) {
+            throw new ApiException("At least one item is required", HttpStatus.BAD_REQUEST.value());
         }
-        throw new HttpClientErrorException(
-                HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete employee with id: " + id);
+        if (items.size() > maxItems) {
+            throw new ApiException(
+                    "At most " + maxItems + " items can be sent at once", HttpStatus.BAD_REQUEST.value());
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        logger.info("Calling external service to get all employees asynchronously");
+        return asyncExternalService.getAllEmployees();
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String nameFragment) {
+        logger.info("Searching employees by name fragment asynchronously: {}", nameFragment);
+        return asyncExternalService.getEmployeesByNameSearch(nameFragment);
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeByIdAsync(UUID id) {
+        logger.info("Calling external service to get employee {} asynchronously", id);
+        return asyncExternalService.getEmployeeById(id);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync() {
+        logger.info("Figuring out highest salary of the employee asynchronously");
+        return asyncExternalService.getHighestSalaryOfEmployees();
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTopHighestEarningEmployeeNamesAsync(int count) {
+        logger.info("Fetching top {} highest earning employees asynchronously", count);
+        if (count < 1) {
+            return CompletableFuture.failedFuture(
+                    new ApiException("Number of employees must be at least 1", HttpStatus.BAD_REQUEST.value()));
+        }
+        return asyncExternalService.getTopHighestEarningEmployeeNames(count);
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployeeAsync(EmployeeRequest employee) {
+        logger.info("Calling external service to create employee {} asynchronously", employee);
+        return asyncExternalService.createEmployee(employee);
     }
 }
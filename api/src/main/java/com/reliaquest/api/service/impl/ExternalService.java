@@ -1,18 +1,45 @@
 package com.reliaquest.api.service.impl;
 
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterCacheSettings;
+import com.reliaquest.api.cache.RosterCacheStats;
+import com.reliaquest.api.cache.RosterSnapshot;
 import com.reliaquest.api.dto.*;
 import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.exceptions.RateLimitedException;
+import com.reliaquest.api.exceptions.UpstreamUnavailableException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IExternalService;
-import io.github.resilience4j.retry.Retry;
-import java.util.Comparator;
+import com.reliaquest.api.upstream.SingleFlight;
+import com.reliaquest.api.upstream.SingleFlightStats;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import com.reliaquest.api.web.StaleResponses;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -20,26 +47,46 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 public class ExternalService implements IExternalService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
+    private static final String ROSTER_KEY = "roster";
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
-    private final Retry retry;
+    private final UpstreamRetries upstreamRetries;
+    private final RosterCache rosterCache;
+    private final UpstreamFormat upstreamFormat;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final int bulkChunkSize;
+    private final AtomicReference<ValidatedRoster> validatedRoster = new AtomicReference<>();
+    private final AtomicReference<SyncPosition> syncPosition = new AtomicReference<>();
+    private final boolean deltaSync;
 
     @Autowired
-    public ExternalService(RestTemplate restTemplate, String baseUrl, Retry retry) {
+    public ExternalService(
+            RestTemplate restTemplate,
+            String baseUrl,
+            UpstreamRetries upstreamRetries,
+            RosterCacheSettings rosterCacheSettings,
+            UpstreamFormat upstreamFormat,
+            @Value("${upstream.bulk.chunk-size:500}") int bulkChunkSize) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
-        this.retry = retry;
+        this.upstreamRetries = upstreamRetries;
+        this.rosterCache = new RosterCache(this::loadRosterSnapshot, rosterCacheSettings);
+        this.deltaSync = rosterCacheSettings.deltaSync();
+        this.upstreamFormat = upstreamFormat;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @Override
     public Employee getEmployeeById(UUID id) {
-        return executeWithRetry(() -> {
+        return singleFlight.execute("employee:" + id, () -> executeWithRetry("getEmployeeById", () -> {
             logger.info("Fetching employee by ID: {}", id);
             try {
                 ResponseEntity<EmployeeResponse> response =
@@ -54,20 +101,77 @@ public class ExternalService implements IExternalService {
                         "Failed to fetch employee by ID: " + id.toString(),
                         e.getStatusCode().value());
             }
+        }));
+    }
+
+    /**
+     * Answers a multi-ID lookup from one roster read: the cached snapshot, or with the cache disabled a single
+     * upstream batch request per {@link BatchGetRequest#MAX_IDS} IDs.
+     */
+    @Override
+    public EmployeeBatch getEmployeesByIds(List<UUID> ids) {
+        logger.info("Fetching {} employees by ID", ids.size());
+        if (!rosterCache.isEnabled()) {
+            Map<UUID, Employee> found = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += BatchGetRequest.MAX_IDS) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + BatchGetRequest.MAX_IDS));
+                fetchEmployeesByIds(chunk).found().forEach(employee -> found.put(employee.id(), employee));
+            }
+            return toBatch(ids, found);
+        }
+        return toBatch(ids, getRosterSnapshot().findByIds(ids));
+    }
+
+    private EmployeeBatch fetchEmployeesByIds(List<UUID> ids) {
+        return executeWithRetry("getEmployeesByIds", () -> {
+            try {
+                EmployeeBatchResponse response = restTemplate.postForObject(
+                        baseUrl + "/batch-get", new BatchGetRequest(ids), EmployeeBatchResponse.class);
+                if (response != null && response.data() != null) {
+                    return response.data();
+                } else {
+                    throw new ApiException(
+                            "Failed to fetch employees by ID", HttpStatus.INTERNAL_SERVER_ERROR.value());
+                }
+            } catch (HttpClientErrorException e) {
+                throw new ApiException(
+                        "Failed to fetch employees by ID: " + e.getMessage(),
+                        e.getStatusCode().value());
+            }
         });
     }
 
+    /**
+     * Orders the result like the request and answers duplicate IDs once.
+     */
+    private static EmployeeBatch toBatch(List<UUID> ids, Map<UUID, Employee> found) {
+        List<Employee> employees = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new EmployeeBatch(employees, missing);
+    }
+
     @Override
     public Employee createEmployee(EmployeeRequest employee) {
-        return executeWithRetry(() -> {
+        return executeWithRetry("createEmployee", () -> {
             logger.info("Creating new employee: {}", employee);
             try {
                 EmployeeResponse response = restTemplate.postForObject(baseUrl, employee, EmployeeResponse.class);
                 if (response != null && response.data() != null) {
+                    onEmployeeCreated(response.data());
                     return response.data();
                 } else {
                     throw new ApiException("Failed to create employee", HttpStatus.INTERNAL_SERVER_ERROR.value());
                 }
+            } catch (ApiException e) {
+                throw e;
             } catch (Exception e) {
                 throw new ApiException("Failed to create employee", HttpStatus.INTERNAL_SERVER_ERROR.value());
             }
@@ -77,88 +181,489 @@ public class ExternalService implements IExternalService {
     @Override
     public List<Employee> getEmployeesByNameSearch(String nameFragment) {
         logger.info("Searching employees by name fragment: {}", nameFragment);
-        return getAllEmployees().stream()
-                .filter(employee -> employee.employeeName().toLowerCase().contains(nameFragment.toLowerCase()))
-                .collect(Collectors.toList());
+        if (!rosterCache.isEnabled()) {
+            return singleFlight.execute(
+                    "search:" + nameFragment.toLowerCase(), () -> searchEmployeesUpstream(nameFragment));
+        }
+        return getRosterSnapshot().nameIndex().search(nameFragment);
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return executeWithRetry(() -> {
-            logger.info("Fetching all employees");
+        if (!rosterCache.isEnabled()) {
+            return fetchAllEmployees();
+        }
+        return getRosterSnapshot().employees();
+    }
+
+    /**
+     * Returns the cached roster. If it has to be refreshed while the upstream is refusing calls (circuit open,
+     * bulkhead full or rate limited), the last roster fetched is returned instead and the response is marked stale.
+     */
+    public RosterSnapshot getRosterSnapshot() {
+        try {
+            return rosterCache.get();
+        } catch (UpstreamUnavailableException | RateLimitedException e) {
+            return lastKnownGoodRoster(e, StaleResponses.forCurrentRequest());
+        }
+    }
+
+    public CompletableFuture<RosterSnapshot> getRosterSnapshotAsync() {
+        Consumer<Duration> markStale = StaleResponses.forCurrentRequest();
+        return rosterCache.getAsync().exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UpstreamUnavailableException || cause instanceof RateLimitedException) {
+                return lastKnownGoodRoster((ApiException) cause, markStale);
+            }
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        });
+    }
+
+    private RosterSnapshot lastKnownGoodRoster(ApiException failure, Consumer<Duration> markStale) {
+        RosterSnapshot snapshot = rosterCache.lastKnownGood().orElseThrow(() -> failure);
+        Duration age = snapshot.age(Instant.now());
+        logger.warn("Serving last known roster, {}s old: {}", age.toSeconds(), failure.getMessage());
+        markStale.accept(age);
+        return snapshot;
+    }
+
+    public boolean isRosterCacheEnabled() {
+        return rosterCache.isEnabled();
+    }
+
+    /**
+     * Makes an employee created through another client (e.g. {@link AsyncExternalService}) visible in the cached
+     * roster before the next refresh.
+     */
+    public void onEmployeeCreated(Employee employee) {
+        rosterCache.update(snapshot -> snapshot.withEmployee(employee));
+    }
+
+    public RosterCacheStats getRosterCacheStats() {
+        return rosterCache.stats();
+    }
+
+    public SingleFlightStats getSingleFlightStats() {
+        return singleFlight.stats();
+    }
+
+    /**
+     * Streams the upstream roster, handing each employee to {@code consumer} as soon as it is parsed. Nothing is
+     * cached, and apart from what the consumer keeps, memory use does not grow with the roster.
+     * <p>
+     * Only a failure before the first employee is handed over can be retried. A retry would stream the roster again
+     * from the start, so once the consumer has an employee any failure ends the call as a 502 that is never retried.
+     */
+    @Override
+    public void forEachEmployee(Consumer<Employee> consumer) {
+        AtomicInteger delivered = new AtomicInteger();
+        Consumer<Employee> counted = employee -> {
+            delivered.incrementAndGet();
+            consumer.accept(employee);
+        };
+        executeWithRetry("getAllEmployees", () -> {
+            logger.info("Streaming all employees");
             try {
-                ResponseEntity<EmployeesResponse> response =
-                        restTemplate.getForEntity(baseUrl, EmployeesResponse.class);
-                if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    return response.getBody().getData().stream().collect(Collectors.toList());
+                Integer count = restTemplate.execute(
+                        baseUrl,
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(upstreamFormat.accept()),
+                        response -> upstreamFormat
+                                .employeeReader(response.getHeaders().getContentType())
+                                .read(response.getBody(), counted));
+                logger.debug("Streamed {} employees", count);
+                return count;
+            } catch (RuntimeException e) {
+                if (delivered.get() > 0) {
+                    throw new ApiException(
+                            "Employee stream failed after " + delivered.get() + " employees: " + e.getMessage(),
+                            HttpStatus.BAD_GATEWAY.value());
+                }
+                if (e instanceof HttpClientErrorException clientError) {
+                    throw new ApiException(
+                            "Failed to fetch all employees: " + clientError.getMessage(),
+                            clientError.getStatusCode().value());
+                }
+                throw e;
+            }
+        });
+    }
+
+    private RosterSnapshot loadRosterSnapshot() {
+        return deltaSync ? syncRosterSnapshot() : fetchRosterSnapshot();
+    }
+
+    /**
+     * Brings the cached roster up to date by applying the upstream change log from the version it was last synced
+     * to. Falls back to a full reload when there is nothing to apply the changes to, or when the log no longer reaches
+     * back that far.
+     */
+    private RosterSnapshot syncRosterSnapshot() {
+        SyncPosition position = syncPosition.get();
+        Optional<RosterSnapshot> current = rosterCache.lastKnownGood();
+        if (position == null || current.isEmpty()) {
+            return reloadRosterSnapshot();
+        }
+        Map<UUID, Employee> created = new LinkedHashMap<>();
+        Set<UUID> deleted = new HashSet<>();
+        long version = position.version();
+        EmployeeChanges changes;
+        do {
+            changes = fetchChanges(version);
+            if (changes.truncated() || !position.epoch().equals(changes.epoch())) {
+                logger.info("Roster change log no longer reaches version {}, reloading the roster", version);
+                return reloadRosterSnapshot();
+            }
+            for (EmployeeChange change : changes.changes()) {
+                UUID id = change.employee().id();
+                if (change.type() == EmployeeChange.Type.CREATED) {
+                    created.put(id, change.employee());
+                } else if (created.remove(id) == null) {
+                    deleted.add(id);
+                }
+            }
+            version = changes.version();
+        } while (changes.hasMore());
+        logger.debug(
+                "Synced roster from version {} to {}: {} created, {} deleted",
+                position.version(),
+                version,
+                created.size(),
+                deleted.size());
+        syncPosition.set(new SyncPosition(position.epoch(), version));
+        return current.get().withChanges(created.values(), deleted).revalidated(Instant.now());
+    }
+
+    /**
+     * Reads the current change log version before loading the roster, so the roster already contains everything up
+     * to it; changes after it that the roster happens to contain as well are applied idempotently by the next sync.
+     */
+    private RosterSnapshot reloadRosterSnapshot() {
+        EmployeeChanges head = fetchChanges(null);
+        RosterSnapshot snapshot = fetchRosterSnapshot();
+        syncPosition.set(new SyncPosition(head.epoch(), head.version()));
+        return snapshot;
+    }
+
+    private EmployeeChanges fetchChanges(Long since) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/changes")
+                .queryParamIfPresent("since", Optional.ofNullable(since))
+                .encode()
+                .build()
+                .toUri();
+        return executeWithRetry("getChanges", () -> {
+            try {
+                EmployeeChangesResponse response = restTemplate.getForObject(uri, EmployeeChangesResponse.class);
+                if (response != null && response.data() != null) {
+                    return response.data();
+                } else {
+                    throw new ApiException("Failed to fetch roster changes", HttpStatus.INTERNAL_SERVER_ERROR.value());
+                }
+            } catch (HttpClientErrorException e) {
+                throw new ApiException(
+                        "Failed to fetch roster changes: " + e.getMessage(),
+                        e.getStatusCode().value());
+            }
+        });
+    }
+
+    /**
+     * Loads the roster for the cache. The upstream's {@code ETag} is kept with the roster it came with and sent back as
+     * {@code If-None-Match}; a 304 reuses that roster and its indexes instead of downloading and parsing it again.
+     */
+    private RosterSnapshot fetchRosterSnapshot() {
+        return executeWithRetry("getAllEmployees", () -> {
+            ValidatedRoster previous = validatedRoster.get();
+            try {
+                return restTemplate.execute(
+                        baseUrl,
+                        HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().setAccept(upstreamFormat.accept());
+                            if (previous != null) {
+                                request.getHeaders().setIfNoneMatch(previous.eTag());
+                            }
+                        },
+                        response -> {
+                            if (previous != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                                logger.debug(
+                                        "Roster unchanged upstream, reusing {} employees",
+                                        previous.snapshot().size());
+                                return previous.snapshot().revalidated(Instant.now());
+                            }
+                            logger.info("Streaming all employees");
+                            List<Employee> employees = new ArrayList<>();
+                            upstreamFormat
+                                    .employeeReader(response.getHeaders().getContentType())
+                                    .read(response.getBody(), employees::add);
+                            RosterSnapshot snapshot = RosterSnapshot.of(employees);
+                            String eTag = response.getHeaders().getETag();
+                            validatedRoster.set(eTag == null ? null : new ValidatedRoster(eTag, snapshot));
+                            return snapshot;
+                        });
+            } catch (HttpClientErrorException e) {
+                throw new ApiException(
+                        "Failed to fetch all employees: " + e.getMessage(),
+                        e.getStatusCode().value());
+            }
+        });
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        return singleFlight.execute(ROSTER_KEY, () -> {
+            List<Employee> employees = new ArrayList<>();
+            forEachEmployee(employees::add);
+            return Collections.unmodifiableList(employees);
+        });
+    }
+
+    @Override
+    public EmployeePage getEmployeesPage(int limit, String cursor) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("limit", limit)
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .encode()
+                .build()
+                .toUri();
+        return executeWithRetry("getEmployeesPage", () -> {
+            logger.info("Fetching page of {} employees after cursor {}", limit, cursor);
+            try {
+                ResponseEntity<EmployeePageResponse> response =
+                        restTemplate.getForEntity(uri, EmployeePageResponse.class);
+                if (response.getStatusCode().is2xxSuccessful()
+                        && response.getBody() != null
+                        && response.getBody().data() != null) {
+                    return response.getBody().data();
                 } else {
                     throw new ApiException(
-                            "Failed to fetch all employees: " + response.getStatusCode(),
+                            "Failed to fetch employee page: " + response.getStatusCode(),
                             response.getStatusCode().value());
                 }
             } catch (HttpClientErrorException e) {
                 throw new ApiException(
-                        "Failed to fetch all employees: " + e.getMessage(),
+                        "Failed to fetch employee page: " + e.getMessage(),
                         e.getStatusCode().value());
             }
         });
     }
 
+    /**
+     * Walks the upstream roster page by page, so only one page is held in memory at a time.
+     */
+    @Override
+    public void forEachEmployeePage(int pageSize, Consumer<List<Employee>> pageConsumer) {
+        String cursor = null;
+        do {
+            EmployeePage page = getEmployeesPage(pageSize, cursor);
+            pageConsumer.accept(page.employees());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+
     @Override
     public int getHighestSalaryOfEmployees() {
         logger.info("Fetching the highest salary among employees");
-        return getAllEmployees().stream()
-                .mapToInt(Employee::employeeSalary)
-                .max()
+        if (!rosterCache.isEnabled()) {
+            return singleFlight.execute("highest-salary", this::fetchHighestSalary);
+        }
+        return getRosterSnapshot()
+                .salaryIndex()
+                .highestSalary()
                 .orElseThrow(() -> new ApiException("No employees found", 404));
     }
 
     @Override
     public List<String> getTop10HighestEarningEmployeeNames() {
-        logger.info("Fetching top 10 highest earning employees");
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::employeeSalary).reversed())
-                .limit(10)
-                .map(Employee::employeeName)
-                .collect(Collectors.toList());
+        return getTopHighestEarningEmployeeNames(10);
     }
 
     @Override
-    public boolean deleteEmployeeById(DeleteEmployeeRequest deleteEmployeeRequest) {
-        HttpEntity<DeleteEmployeeRequest> requestEntity = new HttpEntity<>(deleteEmployeeRequest);
-        String id = deleteEmployeeRequest.name();
-        return executeWithRetry(() -> {
-            logger.info("Deleting employee by ID: {}", id);
+    public List<String> getTopHighestEarningEmployeeNames(int count) {
+        logger.info("Fetching top {} highest earning employees", count);
+        if (!rosterCache.isEnabled()) {
+            return singleFlight.execute("top-earners:" + count, () -> fetchTopEarnerNames(count));
+        }
+        return getRosterSnapshot().salaryIndex().topEarnerNames(count);
+    }
+
+    /**
+     * Without a cached roster, searches and salary queries are pushed down to the upstream, which answers them from
+     * its own indexes, so only their results are transferred rather than the whole roster.
+     */
+    private List<Employee> searchEmployeesUpstream(String nameFragment) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .pathSegment("search", nameFragment)
+                .encode()
+                .build()
+                .toUri();
+        return executeWithRetry("getEmployeesByNameSearch", () -> {
             try {
-                ResponseEntity<DeleteEmployeeResponse> response =
-                        restTemplate.exchange(baseUrl, HttpMethod.DELETE, requestEntity, DeleteEmployeeResponse.class);
-                if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    logger.info("Request to delete employee with ID {} is successfull", id);
-                    return response.getBody().success();
+                EmployeesResponse response = restTemplate.getForObject(uri, EmployeesResponse.class);
+                if (response != null && response.getData() != null) {
+                    return Collections.unmodifiableList(response.getData());
+                } else {
+                    throw new ApiException("Failed to search employees", HttpStatus.INTERNAL_SERVER_ERROR.value());
+                }
+            } catch (HttpClientErrorException e) {
+                throw new ApiException(
+                        "Failed to search employees: " + e.getMessage(),
+                        e.getStatusCode().value());
+            }
+        });
+    }
+
+    private int fetchHighestSalary() {
+        return executeWithRetry("getHighestSalaryOfEmployees", () -> {
+            try {
+                HighestSalaryResponse response =
+                        restTemplate.getForObject(baseUrl + "/highest-salary", HighestSalaryResponse.class);
+                if (response != null && response.data() != null) {
+                    return response.data();
                 } else {
                     throw new ApiException(
-                            "Failed to fetch all employees: " + response.getStatusCode(),
-                            response.getStatusCode().value());
+                            "Failed to fetch the highest salary", HttpStatus.INTERNAL_SERVER_ERROR.value());
                 }
+            } catch (HttpClientErrorException.NotFound e) {
+                throw new ApiException("No employees found", 404);
             } catch (HttpClientErrorException e) {
                 throw new ApiException(
-                        "Failed to delete employee: " + e.getMessage(),
+                        "Failed to fetch the highest salary: " + e.getMessage(),
                         e.getStatusCode().value());
             }
         });
     }
 
-    private <T> T executeWithRetry(Callable<T> callable) {
-        try {
-            return Retry.decorateCallable(retry, callable).call();
-        } catch (Exception e) {
-            if (e instanceof ApiException && ((ApiException) e).getStatusCode() == 429) {
-                HttpClientErrorException httpException = (HttpClientErrorException) e;
+    private List<String> fetchTopEarnerNames(int count) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/top-salaries")
+                .queryParam("n", count)
+                .build()
+                .toUri();
+        return executeWithRetry("getTopHighestEarningEmployeeNames", () -> {
+            try {
+                EmployeeNamesResponse response = restTemplate.getForObject(uri, EmployeeNamesResponse.class);
+                if (response != null && response.data() != null) {
+                    return Collections.unmodifiableList(response.data());
+                } else {
+                    throw new ApiException(
+                            "Failed to fetch top earning employees", HttpStatus.INTERNAL_SERVER_ERROR.value());
+                }
+            } catch (HttpClientErrorException e) {
                 throw new ApiException(
-                        "Request failed: " + httpException.getMessage(),
-                        httpException.getStatusCode().value());
+                        "Failed to fetch top earning employees: " + e.getMessage(),
+                        e.getStatusCode().value());
+            }
+        });
+    }
+
+    /**
+     * Deletes by ID with a single upstream call; the upstream answers with the removed employee.
+     */
+    @Override
+    public Employee deleteEmployeeById(UUID id) {
+        return executeWithRetry("deleteEmployeeById", () -> {
+            logger.info("Deleting employee by ID: {}", id);
+            try {
+                ResponseEntity<EmployeeResponse> response =
+                        restTemplate.exchange(baseUrl + "/" + id, HttpMethod.DELETE, null, EmployeeResponse.class);
+                if (response.getStatusCode().is2xxSuccessful()
+                        && response.getBody() != null
+                        && response.getBody().data() != null) {
+                    logger.info("Request to delete employee with ID {} is successfull", id);
+                    rosterCache.update(snapshot -> snapshot.withoutEmployee(id));
+                    return response.getBody().data();
+                } else {
+                    throw new ApiException("Employee not found", 404);
+                }
+            } catch (HttpClientErrorException e) {
+                throw new ApiException("Failed to delete employee: " + id, e.getStatusCode().value());
+            }
+        });
+    }
+
+    @Override
+    public List<BulkItemResult> createEmployees(List<EmployeeRequest> employees) {
+        logger.info("Creating {} employees", employees.size());
+        List<BulkItemResult> results = inChunks(
+                employees,
+                chunk -> restTemplate.postForObject(baseUrl + "/bulk", chunk, BulkResultsResponse.class),
+                "createEmployees");
+        List<Employee> created = new ArrayList<>();
+        results.stream().filter(BulkItemResult::applied).forEach(result -> created.add(result.employee()));
+        rosterCache.update(snapshot -> snapshot.withEmployees(created));
+        return results;
+    }
+
+    @Override
+    public List<BulkItemResult> deleteEmployeesByIds(List<UUID> ids) {
+        logger.info("Deleting {} employees", ids.size());
+        List<BulkItemResult> results = inChunks(
+                ids,
+                chunk -> restTemplate
+                        .exchange(
+                                baseUrl + "/bulk",
+                                HttpMethod.DELETE,
+                                new HttpEntity<>(new BulkDeleteRequest(chunk)),
+                                BulkResultsResponse.class)
+                        .getBody(),
+                "deleteEmployeesByIds");
+        List<UUID> deleted = new ArrayList<>();
+        results.stream().filter(BulkItemResult::applied).forEach(result -> deleted.add(result.employee().id()));
+        rosterCache.update(snapshot -> snapshot.withoutEmployees(deleted));
+        return results;
+    }
+
+    /**
+     * Sends {@code items} upstream in chunks of at most {@code bulkChunkSize}, one request (with retries) per chunk.
+     * A chunk that still fails does not stop the others; each of its items is reported with the failure, so the
+     * caller knows exactly which items were applied.
+     */
+    private <T> List<BulkItemResult> inChunks(
+            List<T> items, Function<List<T>, BulkResultsResponse> request, String operation) {
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += bulkChunkSize) {
+            int offset = from;
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + bulkChunkSize));
+            try {
+                List<BulkItemResult> chunkResults = executeWithRetry(operation, () -> {
+                    try {
+                        BulkResultsResponse response = request.apply(chunk);
+                        if (response == null || response.data() == null) {
+                            throw new ApiException(
+                                    "Empty bulk response from employee service",
+                                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+                        }
+                        return response.data();
+                    } catch (HttpClientErrorException e) {
+                        throw new ApiException(
+                                "Bulk request failed: " + e.getMessage(),
+                                e.getStatusCode().value());
+                    }
+                });
+                chunkResults.forEach(result -> results.add(result.withIndex(offset + result.index())));
+            } catch (ApiException e) {
+                logger.warn("Bulk {} chunk at {} failed: {}", operation, offset, e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(new BulkItemResult(offset + i, null, e.getMessage()));
+                }
             }
-            throw new ApiException("Unexpected error during retry execution: " + e.getMessage(), 500);
         }
+        return results;
     }
+
+    private <T> T executeWithRetry(String operation, Callable<T> callable) {
+        return upstreamRetries.execute(operation, callable);
+    }
+
+    /**
+     * A roster as the upstream sent it, before any local patches, with the validator it came with.
+     */
+    private record ValidatedRoster(String eTag, RosterSnapshot snapshot) {}
+
+    /**
+     * The change log version the cached roster has been synced to, within the upstream run identified by
+     * {@code epoch}.
+     */
+    private record SyncPosition(String epoch, long version) {}
 }
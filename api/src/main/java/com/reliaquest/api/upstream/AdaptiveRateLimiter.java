@@ -0,0 +1,168 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exceptions.RateLimitedException;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client-side fixed-window limiter that learns the upstream's limit instead of being configured with it.
+ *
+ * <ul>
+ *   <li>Until the first 429 every request is let through.</li>
+ *   <li>On a 429 the number of requests sent in the current window becomes the limit, and requests are refused
+ *       locally until {@code Retry-After} has passed (or, without that header, for the learned window, doubled on
+ *       every consecutive 429 up to {@code maxWindow}). With {@code Retry-After} the window is re-learned as the
+ *       time from the start of the window to the end of the block.</li>
+ *   <li>Every window that uses the whole limit without a 429 raises the limit by one, so a limit that was learned
+ *       too low recovers.</li>
+ * </ul>
+ */
+public class AdaptiveRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private final RateLimiterSettings settings;
+    private final Clock clock;
+
+    private int limit = Integer.MAX_VALUE;
+    private Duration window;
+    private Instant windowStart;
+    private int used;
+    private int consecutiveRejections;
+    private Instant blockedUntil = Instant.MIN;
+
+    private long granted;
+    private long rejected;
+    private long upstreamRejections;
+
+    public AdaptiveRateLimiter(RateLimiterSettings settings) {
+        this(settings, Clock.systemUTC());
+    }
+
+    public AdaptiveRateLimiter(RateLimiterSettings settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.window = settings.initialWindow();
+        this.windowStart = clock.instant();
+    }
+
+    /**
+     * Takes a permit for one upstream request.
+     *
+     * @throws RateLimitedException if the upstream is known to reject the request
+     */
+    public synchronized void acquire() {
+        if (!settings.enabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        if (now.isBefore(blockedUntil)) {
+            rejected++;
+            throw new RateLimitedException("Upstream is rate limiting requests", Duration.between(now, blockedUntil));
+        }
+        Instant windowEnd = windowStart.plus(window);
+        if (!now.isBefore(windowEnd)) {
+            if (used >= limit && limit < Integer.MAX_VALUE) {
+                limit++;
+            }
+            windowStart = now;
+            windowEnd = now.plus(window);
+            used = 0;
+        }
+        if (used >= limit) {
+            rejected++;
+            throw new RateLimitedException(
+                    "Upstream request limit of " + limit + " per " + window.toSeconds() + "s reached",
+                    Duration.between(now, windowEnd));
+        }
+        used++;
+        granted++;
+    }
+
+    /**
+     * Records a 429 from the upstream.
+     *
+     * @param retryAfter the upstream's {@code Retry-After}, if it sent one
+     */
+    public synchronized void onRateLimited(Optional<Duration> retryAfter) {
+        upstreamRejections++;
+        if (!settings.enabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        limit = Math.max(1, used - 1);
+        consecutiveRejections++;
+        Duration block;
+        if (retryAfter.isPresent()) {
+            block = min(retryAfter.get(), settings.maxWindow());
+            window = min(Duration.between(windowStart, now.plus(block)), settings.maxWindow());
+        } else {
+            block = min(window.multipliedBy(1L << Math.min(consecutiveRejections - 1, 16)), settings.maxWindow());
+        }
+        blockedUntil = now.plus(block);
+        // The next window starts when the block ends, so the learned limit applies to it in full.
+        windowStart = blockedUntil;
+        used = 0;
+        logger.warn(
+                "Upstream rate limited us; holding requests for {}s (limit {} per {}s)",
+                block.toSeconds(),
+                limit,
+                window.toSeconds());
+    }
+
+    /**
+     * Records a successful upstream response.
+     */
+    public synchronized void onSuccess() {
+        consecutiveRejections = 0;
+    }
+
+    /**
+     * Records a 304 from the upstream. The upstream does not charge those against its budget, so the permit is given
+     * back rather than counted towards the limit being learned.
+     */
+    public synchronized void onNotModified() {
+        consecutiveRejections = 0;
+        if (used > 0) {
+            used--;
+        }
+    }
+
+    public synchronized RateLimiterStats stats() {
+        Instant now = clock.instant();
+        Duration blockedFor = now.isBefore(blockedUntil) ? Duration.between(now, blockedUntil) : Duration.ZERO;
+        return new RateLimiterStats(limit, window, granted, rejected, upstreamRejections, blockedFor);
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either as delay-seconds or as an HTTP date.
+     */
+    public static Optional<Duration> parseRetryAfter(String value, Clock clock) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant();
+                Duration delay = Duration.between(clock.instant(), at);
+                return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+            } catch (DateTimeException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
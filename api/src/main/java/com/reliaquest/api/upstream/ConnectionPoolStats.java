@@ -0,0 +1,20 @@
+package com.reliaquest.api.upstream;
+
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+
+/**
+ * Point-in-time totals of the upstream connection pool.
+ *
+ * @param leased connections currently executing a request
+ * @param pending requests waiting for a connection
+ * @param available idle connections ready for reuse
+ * @param max pool capacity
+ */
+public record ConnectionPoolStats(int leased, int pending, int available, int max) {
+
+    public static ConnectionPoolStats of(ConnPoolControl<?> pool) {
+        PoolStats totals = pool.getTotalStats();
+        return new ConnectionPoolStats(totals.getLeased(), totals.getPending(), totals.getAvailable(), totals.getMax());
+    }
+}
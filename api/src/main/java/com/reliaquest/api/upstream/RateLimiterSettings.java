@@ -0,0 +1,10 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+
+/**
+ * @param enabled when {@code false} every request is let through and 429s are only handled by the retry
+ * @param initialWindow assumed rate limit window until the upstream has told us otherwise
+ * @param maxWindow upper bound for the learned window, and for how long a single 429 can block requests
+ */
+public record RateLimiterSettings(boolean enabled, Duration initialWindow, Duration maxWindow) {}
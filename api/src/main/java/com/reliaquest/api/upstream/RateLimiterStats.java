@@ -0,0 +1,14 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+
+/**
+ * @param limit learned number of requests per window, {@link Integer#MAX_VALUE} until the first 429
+ * @param window learned window length
+ * @param granted requests let through
+ * @param rejected requests refused locally without contacting the upstream
+ * @param upstreamRejections 429s received from the upstream
+ * @param blockedFor time left until requests are let through again
+ */
+public record RateLimiterStats(
+        int limit, Duration window, long granted, long rejected, long upstreamRejections, Duration blockedFor) {}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.upstream;
+
+import java.io.IOException;
+import java.time.Clock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Puts every {@link org.springframework.web.client.RestTemplate} call through the {@link AdaptiveRateLimiter} and
+ * reports the upstream's answer back to it.
+ */
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitingInterceptor(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire();
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            rateLimiter.onRateLimited(AdaptiveRateLimiter.parseRetryAfter(
+                    response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), Clock.systemUTC()));
+        } else if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            rateLimiter.onNotModified();
+        } else {
+            rateLimiter.onSuccess();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * Caps retries at a fraction of the requests made: every request deposits {@code ratio} of a retry, every retry
+ * withdraws a whole one. The balance is capped at {@code maxBalance}, which is also what is available before any
+ * request has been made, so short bursts can still retry while a sustained failure can add at most {@code ratio}
+ * extra upstream calls per request instead of multiplying the load by the retry's attempt count.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxBalance;
+
+    private double balance;
+    private long requests;
+    private long retries;
+    private long exhausted;
+
+    public RetryBudget(double ratio, int maxBalance) {
+        this.ratio = ratio;
+        this.maxBalance = maxBalance;
+        this.balance = maxBalance;
+    }
+
+    public synchronized void onRequest() {
+        requests++;
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * @return {@code true} if a retry may be made, in which case it has been paid for
+     */
+    public synchronized boolean tryRetry() {
+        if (balance < 1) {
+            exhausted++;
+            return false;
+        }
+        balance -= 1;
+        retries++;
+        return true;
+    }
+
+    public synchronized RetryBudgetStats stats() {
+        return new RetryBudgetStats(requests, retries, exhausted, balance);
+    }
+}
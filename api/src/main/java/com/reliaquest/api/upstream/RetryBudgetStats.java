@@ -0,0 +1,9 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * @param requests first attempts that paid into the budget
+ * @param retries retries the budget allowed
+ * @param exhausted retries refused because the budget was empty
+ * @param balance retries currently available
+ */
+public record RetryBudgetStats(long requests, long retries, long exhausted, double balance) {}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * Retry outcome counters for one upstream operation.
+ *
+ * @param retryAttempts attempts made after the first one
+ */
+public record RetryStats(
+        long successfulWithoutRetry,
+        long successfulWithRetry,
+        long failedWithoutRetry,
+        long failedWithRetry,
+        long retryAttempts) {}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.web.ServerTiming;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Charges {@link org.springframework.web.client.RestTemplate} calls made while handling a timed api request to its
+ * {@link ServerTiming}: the exchange up to the response headers as {@code upstream}, and the time from then until
+ * the response is closed, in which {@code RestTemplate} reads and converts the body, as {@code deserialize}.
+ */
+public class ServerTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerTiming timing = ServerTiming.current();
+        if (!timing.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        long start = System.nanoTime();
+        ClientHttpResponse response = execution.execute(request, body);
+        timing.recordSince(ServerTiming.Phase.UPSTREAM, start);
+        return new TimedResponse(response, timing, System.nanoTime());
+    }
+
+    private static final class TimedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ServerTiming timing;
+        private final long receivedAt;
+        private boolean closed;
+
+        private TimedResponse(ClientHttpResponse delegate, ServerTiming timing, long receivedAt) {
+            this.delegate = delegate;
+            this.timing = timing;
+            this.receivedAt = receivedAt;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                timing.recordSince(ServerTiming.Phase.DESERIALIZE, receivedAt);
+            }
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * @param executed calls that went upstream
+ * @param coalesced calls that waited for an identical call already in flight instead
+ * @param inFlight calls currently running
+ */
+public record SingleFlightStats(long executed, long coalesced, int inFlight) {}
@@ -0,0 +1,97 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * The wire format of upstream responses. When Smile, Jackson's binary encoding of JSON, is preferred, the upstream is
+ * asked for Smile first and JSON after it, so a server without Smile support still answers in JSON; every response
+ * is parsed in the format it declares. Request bodies are always sent as JSON, which every server accepts.
+ * <p>
+ * Smile writes each property name once per response and refers back to it afterwards, so rosters with their long
+ * {@code employee_*} names shrink considerably, and numbers are parsed without going through text.
+ */
+public class UpstreamFormat {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final MediaType JSON_FALLBACK = new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9"));
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final boolean preferSmile;
+    private final EmployeeStreamReader jsonReader;
+    private final EmployeeStreamReader smileReader;
+
+    /**
+     * @param smileMapper mapper built on a {@code SmileFactory}, configured like {@code jsonMapper}
+     * @param preferSmile whether Smile is requested at all; if not, only JSON is accepted
+     */
+    public UpstreamFormat(ObjectMapper jsonMapper, ObjectMapper smileMapper, boolean preferSmile) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileMapper;
+        this.preferSmile = preferSmile;
+        this.jsonReader = new EmployeeStreamReader(jsonMapper);
+        this.smileReader = new EmployeeStreamReader(smileMapper);
+    }
+
+    public boolean prefersSmile() {
+        return preferSmile;
+    }
+
+    /**
+     * @return the {@code Accept} header for upstream requests, most preferred format first
+     */
+    public List<MediaType> accept() {
+        return preferSmile ? List.of(SMILE, JSON_FALLBACK) : List.of(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * @return the mapper that parses a response declaring {@code contentType}; JSON unless it is Smile
+     */
+    public ObjectMapper mapper(@Nullable MediaType contentType) {
+        return isSmile(contentType) ? smileMapper : jsonMapper;
+    }
+
+    public EmployeeStreamReader employeeReader(@Nullable MediaType contentType) {
+        return isSmile(contentType) ? smileReader : jsonReader;
+    }
+
+    /**
+     * @return a converter that lets a {@link org.springframework.web.client.RestTemplate} read Smile responses
+     */
+    public HttpMessageConverter<Object> responseConverter() {
+        return new SmileResponseConverter(smileMapper);
+    }
+
+    private static boolean isSmile(@Nullable MediaType contentType) {
+        return contentType != null && SMILE.isCompatibleWith(contentType);
+    }
+
+    /**
+     * Declares Smile as readable, so placed first it puts Smile first in the {@code Accept} header a
+     * {@code RestTemplate} derives from its converters, but never writes: request bodies fall through to JSON.
+     */
+    private static final class SmileResponseConverter extends MappingJackson2SmileHttpMessageConverter {
+
+        private SmileResponseConverter(ObjectMapper smileMapper) {
+            super(smileMapper);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.exceptions.UpstreamUnavailableException;
+import com.reliaquest.api.web.ServerTiming;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs upstream calls under a per-operation {@link Retry}, so retry outcomes can be told apart by endpoint, and
+ * charges every call to the shared {@link RetryBudget}. A retry is paid for from the budget once its attempt has
+ * failed and the retry is actually going to try again, so the last failed attempt costs nothing; when the budget is
+ * spent the call fails with that attempt's error, without waiting out a backoff. Every attempt also passes the shared
+ * {@link Bulkhead} and {@link CircuitBreaker}; when either refuses it, the attempt fails at once with an
+ * {@link UpstreamUnavailableException}, which is not retried.
+ *
+ * <p>Asynchronous calls wait out their backoff on {@code scheduler}: between attempts no thread is held. Blocking
+ * calls still sleep their caller's thread through every backoff. They serve the {@code IEmployeeController}
+ * endpoints, whose synchronous signatures are fixed by the api contract, so they cannot be moved onto the scheduler;
+ * instead they run under the {@code blockingConfig}, which deliberately retries less. That bounds how long a servlet
+ * thread sleeps per request, at the price of giving up on the upstream sooner; clients that can should use the
+ * {@code /async} endpoints, which retry fully without holding a thread.
+ *
+ * <p>Each operation is timed from first attempt to final outcome, backoffs included, as {@code upstream.calls}
+ * tagged with the operation and its outcome; its retry attempts are counted as {@code upstream.retry.attempts}.
+ * Within a timed api request, the time between attempts is also charged to the request's {@link ServerTiming} as
+ * backoff.
+ */
+public class UpstreamRetries {
+
+    private static final String BLOCKING_CONFIG = "blocking";
+
+    static final String CALLS_METRIC = "upstream.calls";
+    static final String RETRY_ATTEMPTS_METRIC = "upstream.retry.attempts";
+
+    private final RetryRegistry retryRegistry;
+    private final RetryBudget retryBudget;
+    private final ScheduledExecutorService scheduler;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TrackedRetry> retries = new ConcurrentHashMap<>();
+
+    public UpstreamRetries(
+            RetryConfig config,
+            RetryConfig blockingConfig,
+            RetryBudget retryBudget,
+            ScheduledExecutorService scheduler,
+            CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead) {
+        this(config, blockingConfig, retryBudget, scheduler, circuitBreaker, bulkhead, new SimpleMeterRegistry());
+    }
+
+    public UpstreamRetries(
+            RetryConfig config,
+            RetryConfig blockingConfig,
+            RetryBudget retryBudget,
+            ScheduledExecutorService scheduler,
+            CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead,
+            MeterRegistry meterRegistry) {
+        this.retryRegistry = RetryRegistry.of(budgeted(config));
+        this.retryRegistry.addConfiguration(BLOCKING_CONFIG, budgeted(blockingConfig));
+        this.retryBudget = retryBudget;
+        this.scheduler = scheduler;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Callable<T> call) {
+        retryBudget.onRequest();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ServerTiming timing = ServerTiming.current();
+        long start = System.nanoTime();
+        LongAdder attemptNanos = new LongAdder();
+        Throwable failure = null;
+        Retry retry = retry(operation, BLOCKING_CONFIG);
+        try {
+            return Retry.decorateCallable(retry, charged(retry, guard(timed(call, attemptNanos)))).call();
+        } catch (RetryBudgetExhausted e) {
+            failure = e.getCause();
+            throw e.getCause() instanceof ApiException apiException
+                    ? apiException
+                    : new ApiException("Unexpected error during retry execution: " + failure.getMessage(), 500);
+        } catch (ApiException e) {
+            failure = e;
+            throw e;
+        } catch (Exception e) {
+            failure = e;
+            throw new ApiException("Unexpected error during retry execution: " + e.getMessage(), 500);
+        } finally {
+            sample.stop(callTimer(operation, failure));
+            timing.record(ServerTiming.Phase.BACKOFF, System.nanoTime() - start - attemptNanos.sum());
+        }
+    }
+
+    /**
+     * @param call starts one attempt; invoked again on the scheduler for every retry
+     */
+    public <T> CompletableFuture<T> executeAsync(String operation, Supplier<CompletionStage<T>> call) {
+        retryBudget.onRequest();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ServerTiming timing = ServerTiming.current();
+        long start = System.nanoTime();
+        LongAdder attemptNanos = new LongAdder();
+        Retry retry = retry(operation, null);
+        return Retry.decorateCompletionStage(
+                        retry, scheduler, chargedAsync(retry, guardAsync(timedAsync(call, attemptNanos))))
+                .get()
+                .toCompletableFuture()
+                .exceptionallyCompose(e -> CompletableFuture.failedFuture(
+                        unwrap(e) instanceof RetryBudgetExhausted exhausted ? exhausted.getCause() : e))
+                .whenComplete((result, failure) -> {
+                    sample.stop(callTimer(operation, failure));
+                    timing.record(ServerTiming.Phase.BACKOFF, System.nanoTime() - start - attemptNanos.sum());
+                });
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * @return retry counters keyed by operation name
+     */
+    public Map<String, RetryStats> stats() {
+        Map<String, RetryStats> stats = new TreeMap<>();
+        retries.forEach((operation, tracked) -> {
+            Retry.Metrics metrics = tracked.retry().getMetrics();
+            stats.put(
+                    operation,
+                    new RetryStats(
+                            metrics.getNumberOfSuccessfulCallsWithoutRetryAttempt(),
+                            metrics.getNumberOfSuccessfulCallsWithRetryAttempt(),
+                            metrics.getNumberOfFailedCallsWithoutRetryAttempt(),
+                            metrics.getNumberOfFailedCallsWithRetryAttempt(),
+                            tracked.attempts().sum()));
+        });
+        return stats;
+    }
+
+    public RetryRegistry getRetryRegistry() {
+        return retryRegistry;
+    }
+
+    /*
+     * Attempts are timed so that the rest of a call's duration, the waits between attempts, can be reported as
+     * backoff in the request's Server-Timing.
+     */
+    private static <T> Callable<T> timed(Callable<T> call, LongAdder attemptNanos) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return call.call();
+            } finally {
+                attemptNanos.add(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static <T> Supplier<CompletionStage<T>> timedAsync(
+            Supplier<CompletionStage<T>> call, LongAdder attemptNanos) {
+        return () -> {
+            long start = System.nanoTime();
+            return call.get().whenComplete((result, failure) -> attemptNanos.add(System.nanoTime() - start));
+        };
+    }
+
+    /*
+     * Charges the retry budget for the retry an attempt's failure is about to cause, if any. Attempts are counted per
+     * call; the retry tries again while attempts remain and its predicate matches the failure. When the budget cannot
+     * pay, the failure is handed on as RetryBudgetExhausted, which the retry never matches, so it gives up at once.
+     */
+    private <T> Callable<T> charged(Retry retry, Callable<T> call) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                throw (Exception) chargeRetry(retry, attempts.incrementAndGet(), e);
+            }
+        };
+    }
+
+    private <T> Supplier<CompletionStage<T>> chargedAsync(Retry retry, Supplier<CompletionStage<T>> call) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> call.get()
+                .exceptionallyCompose(e ->
+                        CompletableFuture.failedFuture(chargeRetry(retry, attempts.incrementAndGet(), unwrap(e))));
+    }
+
+    private Throwable chargeRetry(Retry retry, int attempt, Throwable failure) {
+        RetryConfig config = retry.getRetryConfig();
+        if (attempt >= config.getMaxAttempts() || !config.getExceptionPredicate().test(failure)) {
+            return failure;
+        }
+        return retryBudget.tryRetry() ? failure : new RetryBudgetExhausted(failure);
+    }
+
+    /*
+     * Leaves budget exhaustion out of what a configured retry matches; the budget itself is charged by charged().
+     */
+    private static RetryConfig budgeted(RetryConfig config) {
+        Predicate<Throwable> retryable = config.getExceptionPredicate();
+        return RetryConfig.from(config)
+                .retryOnException(e -> !(unwrap(e) instanceof RetryBudgetExhausted) && retryable.test(e))
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private <T> Callable<T> guard(Callable<T> call) {
+        Callable<T> guarded =
+                Bulkhead.decorateCallable(bulkhead, CircuitBreaker.decorateCallable(circuitBreaker, call));
+        return () -> {
+            try {
+                return guarded.call();
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                throw unavailable(e);
+            }
+        };
+    }
+
+    private <T> Supplier<CompletionStage<T>> guardAsync(Supplier<CompletionStage<T>> call) {
+        Supplier<CompletionStage<T>> guarded = Bulkhead.decorateCompletionStage(
+                bulkhead, CircuitBreaker.decorateCompletionStage(circuitBreaker, call));
+        return () -> guarded.get().exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                return CompletableFuture.<T>failedFuture(unavailable(cause));
+            }
+            return CompletableFuture.<T>failedFuture(cause);
+        });
+    }
+
+    private UpstreamUnavailableException unavailable(Throwable cause) {
+        if (cause instanceof BulkheadFullException) {
+            return new UpstreamUnavailableException("Too many concurrent upstream calls");
+        }
+        return new UpstreamUnavailableException(
+                "Upstream circuit breaker is " + circuitBreaker.getState().name().toLowerCase(Locale.ROOT));
+    }
+
+    private Retry retry(String operation, String configName) {
+        return retries.computeIfAbsent(operation, name -> {
+                    Retry retry = configName == null
+                            ? retryRegistry.retry(name)
+                            : retryRegistry.retry(name, configName);
+                    LongAdder attempts = new LongAdder();
+                    retry.getEventPublisher().onRetry(event -> attempts.increment());
+                    FunctionCounter.builder(RETRY_ATTEMPTS_METRIC, attempts, LongAdder::sum)
+                            .description("Upstream attempts made after the first one")
+                            .tag("operation", name)
+                            .register(meterRegistry);
+                    return new TrackedRetry(retry, attempts);
+                })
+                .retry();
+    }
+
+    private Timer callTimer(String operation, Throwable failure) {
+        return Timer.builder(CALLS_METRIC)
+                .description("Upstream operations from first attempt to final outcome, including retry backoff")
+                .tag("operation", operation)
+                .tag("outcome", outcome(failure))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Outcome tag of a finished call: {@code rate_limited} covers both 429s from the upstream and requests the local
+     * rate limiter refused, {@code unavailable} calls the circuit breaker or bulkhead refused.
+     */
+    static String outcome(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause == null) {
+            return "success";
+        }
+        if (cause instanceof UpstreamUnavailableException) {
+            return "unavailable";
+        }
+        if (cause instanceof ApiException) {
+            int statusCode = ((ApiException) cause).getStatusCode();
+            if (statusCode == 429) {
+                return "rate_limited";
+            }
+            if (statusCode >= 400 && statusCode < 500) {
+                return "client_error";
+            }
+        }
+        return "server_error";
+    }
+
+    private record TrackedRetry(Retry retry, LongAdder attempts) {}
+
+    /**
+     * A failure that would have been retried had the retry budget allowed it.
+     */
+    private static final class RetryBudgetExhausted extends RuntimeException {
+
+        private RetryBudgetExhausted(Throwable failure) {
+            super(failure.getMessage(), failure, false, false);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Time one api request spent in each phase of its handling, reported as a {@code Server-Timing} header by
+ * {@link ServerTimingFilter}.
+ * <p>
+ * Upstream calls record their own phases: {@code upstream} for the exchange with the server, {@code deserialize}
+ * while its answer is parsed, and {@code backoff} while waiting between retry attempts. Work done on another thread
+ * on the request's behalf, such as a roster refresh it waits for, records to it through
+ * {@link #callAsCurrent(Supplier)}; a request that waits for a refresh started by someone else reports that wait as
+ * {@code cache-wait}. Whatever else the request spent before its response body was written, such as cache lookups and
+ * the stream and index work in the service layer, is reported as {@code app}; writing the body is {@code serialize}.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        UPSTREAM,
+        BACKOFF,
+        DESERIALIZE,
+        CACHE_WAIT;
+
+        String metric() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    static final String HEADER = "Server-Timing";
+
+    private static final String ATTRIBUTE = ServerTiming.class.getName();
+    private static final ServerTiming DISABLED = new ServerTiming(0);
+    private static final ThreadLocal<ServerTiming> BOUND = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final AtomicLongArray recorded = new AtomicLongArray(Phase.values().length);
+    private volatile long handledAt;
+    private volatile boolean handled;
+
+    private ServerTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Returns the timing of the request being handled by the calling thread. It may be kept and recorded to from any
+     * thread, e.g. when an async upstream call completes; outside a timed request it records nothing.
+     */
+    public static ServerTiming current() {
+        ServerTiming bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return of(attributes.getRequest()).orElse(DISABLED);
+        }
+        return DISABLED;
+    }
+
+    /**
+     * Returns a timing that records nothing, for work that no request waits for.
+     */
+    public static ServerTiming untimed() {
+        return DISABLED;
+    }
+
+    /**
+     * Runs {@code work} on the calling thread with this timing as {@link #current()}, so what it records is charged to
+     * the request it is done for rather than to whatever request, if any, the thread belongs to.
+     */
+    public <T> T callAsCurrent(Supplier<T> work) {
+        ServerTiming previous = BOUND.get();
+        BOUND.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Adds the time since {@code startNanos}, a {@link System#nanoTime()} reading, to {@code phase}.
+     */
+    public void recordSince(Phase phase, long startNanos) {
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    public void record(Phase phase, long nanos) {
+        if (this != DISABLED && nanos > 0) {
+            recorded.addAndGet(phase.ordinal(), nanos);
+        }
+    }
+
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    static ServerTiming start(HttpServletRequest request, long startNanos) {
+        ServerTiming timing = new ServerTiming(startNanos);
+        request.setAttribute(ATTRIBUTE, timing);
+        return timing;
+    }
+
+    static Optional<ServerTiming> of(HttpServletRequest request) {
+        return Optional.ofNullable(request.getAttribute(ATTRIBUTE))
+                .filter(ServerTiming.class::isInstance)
+                .map(ServerTiming.class::cast);
+    }
+
+    /**
+     * Marks the end of handling: everything after this is spent writing the response body. Only the first mark
+     * counts, so an error response written after a failed serialization does not move it.
+     */
+    void markHandled(long nanos) {
+        if (!handled) {
+            handledAt = nanos;
+            handled = true;
+        }
+    }
+
+    /**
+     * @return the duration of every phase, in header order, for a request that finished at {@code endNanos}
+     */
+    Map<String, Duration> breakdown(long endNanos) {
+        long handlingEnd = handled ? handledAt : endNanos;
+        long measured = 0;
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            long nanos = recorded.get(phase.ordinal());
+            measured += nanos;
+            phases.put(phase.metric(), Duration.ofNanos(nanos));
+        }
+        phases.put("app", Duration.ofNanos(Math.max(0, handlingEnd - startedAt - measured)));
+        phases.put("serialize", Duration.ofNanos(Math.max(0, endNanos - handlingEnd)));
+        phases.put("total", Duration.ofNanos(endNanos - startedAt));
+        return phases;
+    }
+
+    /**
+     * Formats a breakdown as a {@code Server-Timing} header value, e.g. {@code upstream;dur=12.31, total;dur=14.02}.
+     */
+    static String header(Map<String, Duration> phases) {
+        StringJoiner header = new StringJoiner(", ");
+        phases.forEach((metric, duration) -> header.add(metric + ";dur=" + millis(duration)));
+        return header.toString();
+    }
+
+    /**
+     * Formats a breakdown as {@code key=value} log fields in milliseconds, e.g. {@code upstream_ms=12.31}.
+     */
+    static String logFields(Map<String, Duration> phases) {
+        StringJoiner fields = new StringJoiner(" ");
+        phases.forEach((metric, duration) -> fields.add(metric + "_ms=" + millis(duration)));
+        return fields.toString();
+    }
+
+    private static String millis(Duration duration) {
+        return String.format(Locale.ROOT, "%.2f", duration.toNanos() / 1_000_000.0);
+    }
+}
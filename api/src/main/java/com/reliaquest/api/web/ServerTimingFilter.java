@@ -0,0 +1,93 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Times every api request and reports where the time went in a {@code Server-Timing} header; see
+ * {@link ServerTiming} for the phases. A sample of requests is also logged as one line of {@code key=value} fields.
+ * <p>
+ * The header has to precede the body, but {@code serialize} and {@code total} are only known once the body has been
+ * written, so while the filter is enabled response bodies are buffered in memory and sent when the request
+ * completes. Async requests are reported when their result has been written.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter implements Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean enabled;
+    private final double logSampleRate;
+
+    /**
+     * @param logSampleRate fraction of requests, from 0 to 1, whose breakdown is also logged
+     */
+    public ServerTimingFilter(boolean enabled, double logSampleRate) {
+        if (logSampleRate < 0 || logSampleRate > 1) {
+            throw new IllegalArgumentException("logSampleRate must be between 0 and 1, was " + logSampleRate);
+        }
+        this.enabled = enabled;
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = isAsyncDispatch(request)
+                ? ServerTiming.of(request).orElseGet(() -> ServerTiming.start(request, System.nanoTime()))
+                : ServerTiming.start(request, System.nanoTime());
+        ContentCachingResponseWrapper wrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                complete(request, wrapper, timing.breakdown(System.nanoTime()));
+            }
+        }
+    }
+
+    private void complete(
+            HttpServletRequest request, ContentCachingResponseWrapper response, Map<String, Duration> breakdown)
+            throws IOException {
+        response.setHeader(ServerTiming.HEADER, ServerTiming.header(breakdown));
+        if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            logger.info(
+                    "server-timing method={} path={} status={} {}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    response.getStatus(),
+                    ServerTiming.logFields(breakdown));
+        }
+        response.copyBodyToResponse();
+    }
+}
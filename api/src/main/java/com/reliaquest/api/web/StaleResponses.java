@@ -0,0 +1,38 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Lets the service layer flag that a response is built from data older than the cache normally allows; the flag is
+ * turned into response headers by {@link StaleResponseAdvice}.
+ */
+public final class StaleResponses {
+
+    private static final String AGE_ATTRIBUTE = StaleResponses.class.getName() + ".age";
+
+    private StaleResponses() {}
+
+    /**
+     * Returns a callback that marks the response to the request being handled by the calling thread as stale. The
+     * callback may be invoked from any thread, e.g. when an async result completes; outside a request it does
+     * nothing.
+     */
+    public static Consumer<Duration> forCurrentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return age -> request.setAttribute(AGE_ATTRIBUTE, age);
+        }
+        return age -> {};
+    }
+
+    static Optional<Duration> age(HttpServletRequest request) {
+        return Optional.ofNullable(request.getAttribute(AGE_ATTRIBUTE))
+                .filter(Duration.class::isInstance)
+                .map(Duration.class::cast);
+    }
+}
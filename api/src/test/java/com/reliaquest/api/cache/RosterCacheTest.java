@@ -0,0 +1,265 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.helper.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.helper.MutableClock;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.web.ServerTiming;
+import com.reliaquest.api.web.ServerTimingFilter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class RosterCacheTest {
+
+    private static final RosterCacheSettings SETTINGS =
+            new RosterCacheSettings(true, Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofMinutes(5), false);
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private boolean failLoads;
+
+    private RosterCache rosterCache;
+
+    @BeforeEach
+    public void setUp() {
+        rosterCache = new RosterCache(this::load, SETTINGS, Runnable::run, clock);
+    }
+
+    @Test
+    public void firstReadLoadsThenServesFromMemory() {
+        rosterCache.get();
+        rosterCache.get();
+
+        assertEquals(1, loads.get());
+        RosterCacheStats stats = rosterCache.stats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    public void readInsideRefreshAheadWindowTriggersRefresh() {
+        rosterCache.get();
+        clock.advance(Duration.ofSeconds(27));
+
+        rosterCache.get();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void expiredRosterIsServedStaleWhileRefreshFails() {
+        RosterSnapshot first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(1));
+        failLoads = true;
+
+        RosterSnapshot served = rosterCache.get();
+
+        assertSame(first, served);
+        assertEquals(1, rosterCache.stats().refreshFailures());
+    }
+
+    @Test
+    public void lastKnownGoodOutlivesMaxStaleWhenRefreshFails() {
+        RosterSnapshot first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(10));
+        failLoads = true;
+
+        assertThrows(ApiException.class, rosterCache::get);
+        assertSame(first, rosterCache.lastKnownGood().orElseThrow());
+    }
+
+    @Test
+    public void staleReadReturnsCachedRosterAndCountsStaleness() {
+        RosterSnapshot first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(1));
+
+        RosterSnapshot served = rosterCache.get();
+
+        assertSame(first, served);
+        assertEquals(1, rosterCache.stats().staleHits());
+    }
+
+    @Test
+    public void rosterOlderThanMaxStaleIsReloadedSynchronously() {
+        RosterSnapshot first = rosterCache.get();
+        clock.advance(Duration.ofMinutes(10));
+
+        RosterSnapshot served = rosterCache.get();
+
+        assertNotSame(first, served);
+        assertEquals(2, rosterCache.stats().misses());
+    }
+
+    @Test
+    public void loadFailureIsPropagatedWhenNothingIsCached() {
+        failLoads = true;
+
+        ApiException exception = assertThrows(ApiException.class, () -> rosterCache.get());
+
+        assertEquals(429, exception.getStatusCode());
+        assertEquals(1, rosterCache.stats().refreshFailures());
+    }
+
+    @Test
+    public void localChangesAreAppliedToCachedRoster() {
+        rosterCache.get();
+        Employee john = john();
+
+        rosterCache.update(snapshot -> snapshot.withEmployee(john));
+
+        assertEquals(2, rosterCache.get().size());
+        rosterCache.update(snapshot -> snapshot.withoutEmployee(john.id()));
+        assertEquals(1, rosterCache.get().size());
+    }
+
+    @Test
+    public void localChangesMadeDuringARefreshSurviveIt() throws Exception {
+        Employee dan = dan();
+        Employee rajesh = rajesh();
+        Employee john = john();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService refreshThread = Executors.newSingleThreadExecutor();
+        RosterCache cache = new RosterCache(
+                () -> {
+                    if (calls.incrementAndGet() > 1) {
+                        loading.countDown();
+                        awaitQuietly(release);
+                    }
+                    // The upstream roster as read before the local changes below were made.
+                    return RosterSnapshot.of(List.of(dan, rajesh), clock.instant());
+                },
+                SETTINGS,
+                refreshThread,
+                clock);
+        try {
+            cache.get();
+            clock.advance(Duration.ofSeconds(27));
+            cache.get();
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            cache.update(snapshot -> snapshot.withEmployee(john));
+            cache.update(snapshot -> snapshot.withoutEmployee(rajesh.id()));
+            release.countDown();
+            refreshThread.shutdown();
+            assertTrue(refreshThread.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(2, calls.get());
+            assertEquals(List.of(dan, john), cache.lastKnownGood().orElseThrow().employees());
+        } finally {
+            refreshThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void missChargesTheRefreshItWaitsForToTheRequest() throws Exception {
+        ExecutorService refreshThread = Executors.newSingleThreadExecutor();
+        RosterCache cache = new RosterCache(
+                () -> {
+                    ServerTiming.current().record(ServerTiming.Phase.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(5));
+                    return load();
+                },
+                SETTINGS,
+                refreshThread,
+                clock);
+        try {
+            Map<String, Double> timings = timedRequest(cache::get);
+
+            assertEquals(5.0, timings.get("upstream"));
+            assertEquals(0.0, timings.get("cache-wait"));
+        } finally {
+            refreshThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void joiningARefreshRecordsTheWaitAsCacheWait() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        ScheduledExecutorService releaser = Executors.newSingleThreadScheduledExecutor();
+        RosterCache cache = new RosterCache(
+                () -> {
+                    loading.countDown();
+                    awaitQuietly(release);
+                    return load();
+                },
+                SETTINGS,
+                threads,
+                clock);
+        try {
+            Future<RosterSnapshot> starter = threads.submit(cache::get);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Map<String, Double> timings = timedRequest(() -> {
+                releaser.schedule(release::countDown, 50, TimeUnit.MILLISECONDS);
+                return cache.get();
+            });
+
+            assertSame(starter.get(5, TimeUnit.SECONDS), cache.lastKnownGood().orElseThrow());
+            assertTrue(timings.get("cache-wait") >= 40, timings.toString());
+            assertEquals(0.0, timings.get("upstream"));
+        } finally {
+            threads.shutdownNow();
+            releaser.shutdownNow();
+        }
+    }
+
+    /*
+     * Runs the call as a timed api request and returns its Server-Timing breakdown in milliseconds.
+     */
+    private static Map<String, Double> timedRequest(Supplier<RosterSnapshot> call) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ServerTimingFilter(true, 0.0).doFilter(request, response, (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                call.get();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        Map<String, Double> timings = new HashMap<>();
+        for (String metric : response.getHeader("Server-Timing").split(", ")) {
+            String[] parts = metric.split(";dur=");
+            timings.put(parts[0], Double.parseDouble(parts[1]));
+        }
+        return timings;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RosterSnapshot load() {
+        if (failLoads) {
+            throw new ApiException("Too many requests", 429);
+        }
+        loads.incrementAndGet();
+        return RosterSnapshot.of(List.of(dan()), clock.instant());
+    }
+}
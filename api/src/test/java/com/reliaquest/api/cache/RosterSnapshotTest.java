@@ -0,0 +1,53 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.helper.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.Test;
+
+public class RosterSnapshotTest {
+
+    @Test
+    public void changesAreAppliedOnceEvenIfReplayed() {
+        Employee dan = dan();
+        Employee rajesh = rajesh();
+        Employee john = john();
+        RosterSnapshot snapshot = RosterSnapshot.of(List.of(dan, rajesh), Instant.EPOCH);
+
+        RosterSnapshot updated = snapshot.withChanges(List.of(rajesh, john), List.of(dan.id()));
+
+        assertEquals(List.of(rajesh, john), updated.employees());
+        assertEquals(OptionalInt.of(6000), updated.salaryIndex().highestSalary());
+        assertEquals(List.of(john), updated.nameIndex().search("john"));
+        assertEquals(Instant.EPOCH, updated.fetchedAt());
+        assertSame(updated, updated.withChanges(List.of(rajesh, john), List.of(dan.id())));
+    }
+
+    @Test
+    public void removingAnEmployeeByIdPatchesTheIndexes() {
+        Employee dan = dan();
+        Employee john = john();
+        RosterSnapshot snapshot = RosterSnapshot.of(List.of(dan, john), Instant.EPOCH);
+
+        RosterSnapshot updated = snapshot.withoutEmployee(john.id());
+
+        assertEquals(List.of(dan), updated.employees());
+        assertEquals(OptionalInt.of(3000), updated.salaryIndex().highestSalary());
+        assertEquals(List.of(dan), updated.nameIndex().search("dan"));
+        assertEquals(Instant.EPOCH, updated.fetchedAt());
+        assertSame(updated, updated.withoutEmployee(john.id()));
+    }
+
+    @Test
+    public void addingAnEmployeeAlreadyPresentChangesNothing() {
+        Employee john = john();
+        RosterSnapshot snapshot = RosterSnapshot.of(List.of(dan(), john));
+
+        assertSame(snapshot, snapshot.withEmployee(john));
+        assertSame(snapshot, snapshot.withEmployees(List.of(john)));
+    }
+}
@@ -5,28 +5,43 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.BatchGetRequest;
+import com.reliaquest.api.dto.BulkCreateRequest;
+import com.reliaquest.api.dto.BulkDeleteRequest;
+import com.reliaquest.api.dto.BulkItemResult;
+import com.reliaquest.api.dto.EmployeeBatch;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exceptions.ApiException;
 import com.reliaquest.api.exceptions.GlobalExceptionHandler;
 import com.reliaquest.api.helper.TestHelper;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.web.StaleResponses;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.client.HttpClientErrorException;
@@ -71,6 +86,35 @@ public class EmployeeControllerTest {
         ;
     }
 
+    @Test
+    void testGetAllEmployeesFromLastKnownRosterIsMarkedStale() throws Exception {
+        given(employeeService.getAllEmployees()).willAnswer(invocation -> {
+            StaleResponses.forCurrentRequest().accept(Duration.ofSeconds(90));
+            return List.of(dan());
+        });
+
+        mockMvc.perform(get("/api/v1/employee").contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.AGE, "90"))
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testGetEmployeesPageThenReturnPageWithCursor() throws Exception {
+        Employee dan = dan();
+
+        given(employeeService.getEmployeesPage(1, null)).willReturn(new EmployeePage(List.of(dan), "cDox"));
+
+        mockMvc.perform(get("/api/v1/employee").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(1)))
+                .andExpect(jsonPath("$.employees[0].employee_name", is(dan.employeeName())))
+                .andExpect(jsonPath("$.nextCursor", is("cDox")));
+    }
+
     @Test
     void testGetAllEmployeesThrowsTooManyRequestException() throws Exception {
         given(employeeService.getAllEmployees()).willThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
@@ -155,6 +199,24 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        Employee dan = dan();
+        UUID missing = UUID.randomUUID();
+
+        given(employeeService.getEmployeesByIds(List.of(dan.id(), missing)))
+                .willReturn(new EmployeeBatch(List.of(dan), List.of(missing)));
+
+        mockMvc.perform(post("/api/v1/employee/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchGetRequest(List.of(dan.id(), missing)))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(1)))
+                .andExpect(jsonPath("$.found[0].employee_name", is(dan.employeeName())))
+                .andExpect(jsonPath("$.missing[0]", is(missing.toString())));
+    }
+
     @Test
     void testGetHighestSalaryOfEmployee() throws Exception {
         given(employeeService.getHighestSalaryOfEmployees()).willReturn(john().employeeSalary());
@@ -178,6 +240,48 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.[9]", is("Test Name10")));
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNames() throws Exception {
+
+        given(employeeService.getTopHighestEarningEmployeeNames(3))
+                .willReturn(TestHelper.topTenEmployeeNames().subList(0, 3));
+
+        mockMvc.perform(get("/api/v1/employee/top-salaries")
+                        .param("n", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$.[0]", is("Test Name1")))
+                .andExpect(jsonPath("$.[2]", is("Test Name3")));
+    }
+
+    @Test
+    void testGetEmployeeByIdAsync() throws Exception {
+        Employee dan = dan();
+
+        given(employeeService.getEmployeeByIdAsync(dan.id())).willReturn(CompletableFuture.completedFuture(dan));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/async/{id}", dan.id()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employee_name", is(dan.employeeName())));
+    }
+
+    @Test
+    void testGetEmployeeByIdAsyncThrowsTooManyRequestException() throws Exception {
+        given(employeeService.getEmployeeByIdAsync(any()))
+                .willReturn(CompletableFuture.failedFuture(new ApiException("Too many requests", 429)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/async/{id}", UUID.randomUUID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andDo(print()).andExpect(status().is(429));
+    }
+
     @Test
     void testCreateEmployee() throws Exception {
         given(employeeService.createEmployee(any())).willReturn(john());
@@ -191,6 +295,63 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.employee_salary", is(john().employeeSalary())));
     }
 
+    @Test
+    void testCreateEmployeesReportsEachItem() throws Exception {
+        List<EmployeeRequest> employees = List.of(
+                new EmployeeRequest("test", 32434, 34, "Mr", null), new EmployeeRequest("other", 100, 34, "Mr", null));
+        given(employeeService.createEmployees(employees))
+                .willReturn(List.of(
+                        new BulkItemResult(0, john(), null), new BulkItemResult(1, null, "upstream unavailable")));
+
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateRequest(employees))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].employee.employee_name", is(john().employeeName())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is("upstream unavailable")));
+    }
+
+    @Test
+    void testCreateEmployeesRejectsAnInvalidItemBeforeCallingTheService() throws Exception {
+        List<EmployeeRequest> employees = List.of(
+                new EmployeeRequest("test", 32434, 34, "Mr", null), new EmployeeRequest("", 100, 34, "Mr", null));
+
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateRequest(employees))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['employees[1].name']", is("must not be blank")));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testCreateEmployeesRejectsANullItem() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employees\":[null]}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testDeleteEmployeesRejectsTooManyIds() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= BulkDeleteRequest.MAX_IDS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        mockMvc.perform(delete("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkDeleteRequest(ids))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
     @Test
     void testDeleteEmployee() throws Exception {
         given(employeeService.deleteEmployeeById(any())).willReturn("Test Name");
@@ -0,0 +1,74 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class NameIndexTest {
+
+    private static final List<String> NAMES = List.of(
+            "Tiger Nixon", "Dan", "John Dan", "Daniela Danforth", "Ann Dannon", "Garrett Winters", "Ashton Cox");
+
+    private static final List<String> FRAGMENTS =
+            List.of("", "d", "DA", "dan", "Dann", "n d", "on", "nix", "ton c", "xyz", "Winter", "garrett winters");
+
+    @Test
+    public void searchMatchesLinearContainsScan() {
+        List<Employee> roster = roster(NAMES);
+        NameIndex nameIndex = NameIndex.of(roster);
+
+        for (String fragment : FRAGMENTS) {
+            assertEquals(scan(roster, fragment), nameIndex.search(fragment), fragment);
+        }
+    }
+
+    @Test
+    public void searchIsCaseInsensitive() {
+        NameIndex nameIndex = NameIndex.of(roster(List.of("John Doe", "Highest")));
+
+        List<Employee> employees = nameIndex.search("IgHes");
+
+        assertEquals(1, employees.size());
+        assertEquals("Highest", employees.get(0).employeeName());
+    }
+
+    @Test
+    public void patchedIndexMatchesScanOfUpdatedRoster() {
+        List<Employee> roster = new ArrayList<>(roster(NAMES));
+        NameIndex nameIndex = NameIndex.of(roster);
+
+        Employee added = employee("Dana Nixon");
+        roster.add(added);
+        nameIndex = nameIndex.with(added);
+        Employee removed = roster.remove(2);
+        nameIndex = nameIndex.without(removed);
+        removed = roster.remove(0);
+        nameIndex = nameIndex.without(removed);
+        removed = roster.remove(0);
+        nameIndex = nameIndex.without(removed);
+
+        assertEquals(roster.size(), nameIndex.size());
+        for (String fragment : FRAGMENTS) {
+            assertEquals(scan(roster, fragment), nameIndex.search(fragment), fragment);
+        }
+    }
+
+    private static List<Employee> scan(List<Employee> roster, String fragment) {
+        return roster.stream()
+                .filter(employee -> employee.employeeName().toLowerCase().contains(fragment.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Employee> roster(List<String> names) {
+        return names.stream().map(NameIndexTest::employee).collect(Collectors.toList());
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 1000, 30, "Engineer", null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class SalaryIndexTest {
+
+    @Test
+    public void highestSalaryIsFirstEntry() {
+        SalaryIndex salaryIndex = SalaryIndex.of(List.of(employee("A", 300), employee("B", 900), employee("C", 500)));
+
+        assertEquals(OptionalInt.of(900), salaryIndex.highestSalary());
+    }
+
+    @Test
+    public void emptyIndexHasNoHighestSalary() {
+        assertTrue(SalaryIndex.of(List.of()).highestSalary().isEmpty());
+    }
+
+    @Test
+    public void topEarnerNamesMatchStableDescendingSort() {
+        List<Employee> roster = IntStream.range(0, 50)
+                .mapToObj(i -> employee("Employee" + i, (i * 7919) % 13 * 1000))
+                .collect(Collectors.toList());
+        SalaryIndex salaryIndex = SalaryIndex.of(roster);
+
+        for (int count : new int[] {1, 10, 50, 75}) {
+            List<String> expected = roster.stream()
+                    .sorted(Comparator.comparingInt(Employee::employeeSalary).reversed())
+                    .limit(count)
+                    .map(Employee::employeeName)
+                    .collect(Collectors.toList());
+            assertEquals(expected, salaryIndex.topEarnerNames(count));
+        }
+    }
+
+    @Test
+    public void addedEmployeeIsPlacedAfterExistingEqualSalaries() {
+        SalaryIndex salaryIndex = SalaryIndex.of(List.of(employee("A", 500), employee("B", 300)))
+                .with(employee("C", 500))
+                .with(employee("D", 700));
+
+        assertEquals(List.of("D", "A", "C", "B"), salaryIndex.topEarnerNames(10));
+        assertEquals(OptionalInt.of(700), salaryIndex.highestSalary());
+    }
+
+    @Test
+    public void removedEmployeeLeavesOtherEqualSalariesInPlace() {
+        Employee a = employee("A", 500);
+        Employee c = employee("C", 500);
+        SalaryIndex salaryIndex = SalaryIndex.of(List.of(a, employee("B", 900), c));
+
+        SalaryIndex updated = salaryIndex.without(a);
+
+        assertEquals(List.of("B", "C"), updated.topEarnerNames(10));
+        assertEquals(3, salaryIndex.size());
+        assertSame(updated, updated.without(a));
+    }
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID(), name, salary, 30, "Engineer", null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.api.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.RosterCacheStats;
+import com.reliaquest.api.upstream.ConnectionPoolStats;
+import com.reliaquest.api.upstream.RateLimiterStats;
+import com.reliaquest.api.upstream.RetryBudgetStats;
+import com.reliaquest.api.upstream.SingleFlightStats;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ApiMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<RosterCacheStats> rosterCacheStats = new AtomicReference<>(
+            new RosterCacheStats(10, 2, 1, 1, 0, 50, Duration.ofSeconds(12)));
+    private final AtomicReference<RateLimiterStats> rateLimiterStats = new AtomicReference<>(
+            new RateLimiterStats(8, Duration.ofSeconds(30), 40, 3, 2, Duration.ZERO));
+    private final RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
+
+    @BeforeEach
+    public void setUp() {
+        new ApiMetrics(
+                        rosterCacheStats::get,
+                        () -> new SingleFlightStats(7, 5, 1),
+                        () -> new RetryBudgetStats(100, 4, 1, 6.5),
+                        rateLimiterStats::get,
+                        () -> new ConnectionPoolStats(3, 0, 2, 50),
+                        retryRegistry,
+                        CircuitBreakerRegistry.ofDefaults(),
+                        BulkheadRegistry.ofDefaults())
+                .bindTo(meterRegistry);
+    }
+
+    @Test
+    public void rosterCacheMetersFollowCurrentStats() {
+        assertEquals(50.0, meterRegistry.get("roster.cache.size").gauge().value());
+        assertEquals(12.0, meterRegistry.get("roster.cache.age").timeGauge().value(TimeUnit.SECONDS));
+        assertEquals(
+                10.0,
+                meterRegistry
+                        .get("roster.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+
+        rosterCacheStats.set(new RosterCacheStats(11, 2, 1, 2, 0, 51, Duration.ZERO));
+
+        assertEquals(51.0, meterRegistry.get("roster.cache.size").gauge().value());
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("roster.cache.refreshes")
+                        .tag("result", "success")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    public void rateLimitingIsCountedBySource() {
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("upstream.rate.limited")
+                        .tag("source", "upstream")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                3.0,
+                meterRegistry
+                        .get("upstream.rate.limited")
+                        .tag("source", "local")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    public void upstreamClientMetersAreRegistered() {
+        assertEquals(
+                3.0,
+                meterRegistry
+                        .get("upstream.connections")
+                        .tag("state", "leased")
+                        .gauge()
+                        .value());
+        assertEquals(
+                5.0,
+                meterRegistry
+                        .get("upstream.single.flight.calls")
+                        .tag("result", "coalesced")
+                        .functionCounter()
+                        .count());
+        assertEquals(6.5, meterRegistry.get("upstream.retry.budget.balance").gauge().value());
+    }
+
+    @Test
+    public void retriesAddedLaterAreMetered() {
+        retryRegistry.retry("getAllEmployees");
+
+        assertFalse(meterRegistry
+                .find("resilience4j.retry.calls")
+                .tag("name", "getAllEmployees")
+                .meters()
+                .isEmpty());
+    }
+}
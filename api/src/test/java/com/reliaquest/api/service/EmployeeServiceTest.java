@@ -5,12 +5,16 @@ import static org.mockito.Mockito.*;
 
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.impl.EmployeeService;
 import com.reliaquest.api.service.impl.ExternalService;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -25,6 +29,9 @@ public class EmployeeServiceTest {
     @Mock
     private ExternalService externalService;
 
+    @Mock
+    private IAsyncExternalService asyncExternalService;
+
     private Employee mockEmployee;
 
     @BeforeEach
@@ -47,7 +54,9 @@ public class EmployeeServiceTest {
     public void getTop10HighestEarningEmployeeNames() {
         Employee employee =
                 new Employee(UUID.randomUUID(), "Highest", 100000, 30, "Highest Developer", "Highest@example.com");
-        when(externalService.getAllEmployees()).thenReturn(Arrays.asList(mockEmployee, employee));
+        SalaryIndex salaryIndex = SalaryIndex.of(Arrays.asList(mockEmployee, employee));
+        when(externalService.getTopHighestEarningEmployeeNames(10))
+                .thenAnswer(invocation -> salaryIndex.topEarnerNames(invocation.getArgument(0)));
         List<String> employees = mockService.getTop10HighestEarningEmployeeNames();
 
         assertNotNull(employees);
@@ -59,17 +68,82 @@ public class EmployeeServiceTest {
     public void getHighestSalaryOfEmployees() {
         Employee employee =
                 new Employee(UUID.randomUUID(), "Highest", 100000, 30, "Highest Developer", "Highest@example.com");
-        when(externalService.getAllEmployees()).thenReturn(Arrays.asList(mockEmployee, employee));
+        SalaryIndex salaryIndex = SalaryIndex.of(Arrays.asList(mockEmployee, employee));
+        when(externalService.getHighestSalaryOfEmployees())
+                .thenReturn(salaryIndex.highestSalary().getAsInt());
         int salary = mockService.getHighestSalaryOfEmployees();
 
         assertEquals(100000, salary);
     }
 
+    @Test
+    public void getTopHighestEarningEmployeeNamesRejectsNonPositiveCount() {
+        ApiException exception =
+                assertThrows(ApiException.class, () -> mockService.getTopHighestEarningEmployeeNames(0));
+
+        assertEquals(400, exception.getStatusCode());
+        verifyNoInteractions(externalService);
+    }
+
+    @Test
+    public void getTopHighestEarningEmployeeNamesAsyncRejectsNonPositiveCount() {
+        CompletableFuture<List<String>> names = mockService.getTopHighestEarningEmployeeNamesAsync(0);
+
+        CompletionException exception = assertThrows(CompletionException.class, names::join);
+        assertEquals(400, ((ApiException) exception.getCause()).getStatusCode());
+        verifyNoInteractions(asyncExternalService);
+    }
+
+    @Test
+    public void getEmployeeByIdAsyncDelegatesToAsyncExternalService() {
+        UUID id = UUID.randomUUID();
+        when(asyncExternalService.getEmployeeById(id)).thenReturn(CompletableFuture.completedFuture(mockEmployee));
+
+        assertEquals("John Doe", mockService.getEmployeeByIdAsync(id).join().employeeName());
+        verifyNoInteractions(externalService);
+    }
+
+    @Test
+    public void getEmployeesByIdsRejectsEmptyRequest() {
+        ApiException exception = assertThrows(ApiException.class, () -> mockService.getEmployeesByIds(List.of()));
+
+        assertEquals(400, exception.getStatusCode());
+        verifyNoInteractions(externalService);
+    }
+
+    @Test
+    public void deleteEmployeesByIdsRejectsEmptyRequest() {
+        ApiException exception =
+                assertThrows(ApiException.class, () -> mockService.deleteEmployeesByIds(List.of()));
+
+        assertEquals(400, exception.getStatusCode());
+        verifyNoInteractions(externalService);
+    }
+
+    @Test
+    public void deleteEmployeeByIdReturnsDeletedNameWithOneUpstreamCall() {
+        when(externalService.deleteEmployeeById(mockEmployee.id())).thenReturn(mockEmployee);
+
+        assertEquals("John Doe", mockService.deleteEmployeeById(mockEmployee.id().toString()));
+        verify(externalService).deleteEmployeeById(mockEmployee.id());
+        verifyNoMoreInteractions(externalService);
+    }
+
+    @Test
+    public void deleteEmployeeByIdRejectsMalformedId() {
+        ApiException exception = assertThrows(ApiException.class, () -> mockService.deleteEmployeeById("not-a-uuid"));
+
+        assertEquals(400, exception.getStatusCode());
+        verifyNoInteractions(externalService);
+    }
+
     @Test
     public void getEmployeesByNameSearch() {
         Employee employee =
                 new Employee(UUID.randomUUID(), "Highest", 100000, 30, "Highest Developer", "Highest@example.com");
-        when(externalService.getAllEmployees()).thenReturn(Arrays.asList(mockEmployee, employee));
+        NameIndex nameIndex = NameIndex.of(Arrays.asList(mockEmployee, employee));
+        when(externalService.getEmployeesByNameSearch("IgHes"))
+                .thenAnswer(invocation -> nameIndex.search(invocation.getArgument(0)));
         List<Employee> employees = mockService.getEmployeesByNameSearch("IgHes");
 
         assertNotNull(employees);
@@ -0,0 +1,115 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.cache.RosterCacheSettings;
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.ExternalService;
+import com.reliaquest.api.upstream.RetryBudget;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * With the roster cache disabled, salary queries and searches are answered by the upstream's own endpoints rather
+ * than by fetching the roster; any other request fails the test.
+ */
+public class ExternalServicePushdownTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final RosterCacheSettings CACHE_DISABLED =
+            new RosterCacheSettings(false, Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofMinutes(5), false);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ExternalService externalService = new ExternalService(
+            restTemplate,
+            BASE_URL,
+            upstreamRetries(),
+            CACHE_DISABLED,
+            new UpstreamFormat(new ObjectMapper(), new ObjectMapper(new SmileFactory()), false),
+            500);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void highestSalaryIsAskedForRatherThanComputedFromTheRoster() {
+        upstream.expect(requestTo(BASE_URL + "/highest-salary"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"data\":900,\"status\":\"ok\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals(900, externalService.getHighestSalaryOfEmployees());
+        upstream.verify();
+    }
+
+    @Test
+    public void emptyUpstreamRosterHasNoHighestSalary() {
+        upstream.expect(requestTo(BASE_URL + "/highest-salary")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        ApiException exception = assertThrows(ApiException.class, externalService::getHighestSalaryOfEmployees);
+
+        assertEquals(404, exception.getStatusCode());
+        upstream.verify();
+    }
+
+    @Test
+    public void topEarnersAreAskedForWithTheirCount() {
+        upstream.expect(requestTo(BASE_URL + "/top-salaries?n=3"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(
+                        withSuccess("{\"data\":[\"B\",\"A\",\"C\"],\"status\":\"ok\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals(List.of("B", "A", "C"), externalService.getTopHighestEarningEmployeeNames(3));
+        upstream.verify();
+    }
+
+    @Test
+    public void searchSendsTheFragmentAsAnEncodedPathSegment() {
+        UUID id = UUID.randomUUID();
+        upstream.expect(requestTo(BASE_URL + "/search/Ann%20Lee"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"data\":[{\"id\":\"" + id + "\",\"employee_name\":\"Ann Leeds\",\"employee_salary\":500,"
+                                + "\"employee_age\":30,\"employee_title\":\"Engineer\"}],\"status\":\"ok\"}",
+                        MediaType.APPLICATION_JSON));
+
+        List<Employee> matches = externalService.getEmployeesByNameSearch("Ann Lee");
+
+        assertEquals(List.of(new Employee(id, "Ann Leeds", 500, 30, "Engineer", null)), matches);
+        upstream.verify();
+    }
+
+    private UpstreamRetries upstreamRetries() {
+        RetryConfig retryConfig = RetryConfig.custom().maxAttempts(1).build();
+        return new UpstreamRetries(
+                retryConfig,
+                retryConfig,
+                new RetryBudget(0.2, 10),
+                scheduler,
+                CircuitBreaker.ofDefaults("upstream"),
+                Bulkhead.ofDefaults("upstream"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.cache.RosterCacheSettings;
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.ExternalService;
+import com.reliaquest.api.upstream.RetryBudget;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * A streamed roster is retried only until the first employee reaches the consumer. The retry policy here retries
+ * every failure, so a stream that breaks off part way would be re-sent if nothing stopped it.
+ */
+public class ExternalServiceStreamingTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final RosterCacheSettings CACHE_DISABLED =
+            new RosterCacheSettings(false, Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofMinutes(5), false);
+
+    private final Employee ann = new Employee(UUID.randomUUID(), "Ann Lee", 500, 30, "Engineer", null);
+    private final Employee bob = new Employee(UUID.randomUUID(), "Bob Ray", 400, 40, "Manager", null);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ExternalService externalService = new ExternalService(
+            restTemplate,
+            BASE_URL,
+            upstreamRetries(),
+            CACHE_DISABLED,
+            new UpstreamFormat(new ObjectMapper(), new ObjectMapper(new SmileFactory()), false),
+            500);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void failureBeforeTheFirstEmployeeIsRetried() {
+        upstream.expect(requestTo(BASE_URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+        upstream.expect(requestTo(BASE_URL))
+                .andRespond(withSuccess(
+                        "{\"data\":[" + json(ann) + "," + json(bob) + "],\"status\":\"ok\"}",
+                        MediaType.APPLICATION_JSON));
+
+        List<Employee> received = new ArrayList<>();
+        externalService.forEachEmployee(received::add);
+
+        assertEquals(List.of(ann, bob), received);
+        upstream.verify();
+    }
+
+    @Test
+    public void streamBrokenOffAfterAnEmployeeIsNotRetried() {
+        upstream.expect(ExpectedCount.once(), requestTo(BASE_URL))
+                .andRespond(withSuccess("{\"data\":[" + json(ann) + ",{\"id\":", MediaType.APPLICATION_JSON));
+
+        List<Employee> received = new ArrayList<>();
+        ApiException exception =
+                assertThrows(ApiException.class, () -> externalService.forEachEmployee(received::add));
+
+        assertEquals(502, exception.getStatusCode());
+        assertEquals(List.of(ann), received);
+        upstream.verify();
+    }
+
+    private static String json(Employee employee) {
+        return "{\"id\":\"" + employee.id() + "\",\"employee_name\":\"" + employee.employeeName()
+                + "\",\"employee_salary\":" + employee.employeeSalary() + ",\"employee_age\":"
+                + employee.employeeAge() + ",\"employee_title\":\"" + employee.employeeTitle() + "\"}";
+    }
+
+    private UpstreamRetries upstreamRetries() {
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnException(e -> true)
+                .build();
+        return new UpstreamRetries(
+                retryConfig,
+                retryConfig,
+                new RetryBudget(0.2, 10),
+                scheduler,
+                CircuitBreaker.ofDefaults("upstream"),
+                Bulkhead.ofDefaults("upstream"));
+    }
+}
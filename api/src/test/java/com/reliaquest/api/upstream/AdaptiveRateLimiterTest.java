@@ -0,0 +1,101 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.RateLimitedException;
+import com.reliaquest.api.helper.MutableClock;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(
+            new RateLimiterSettings(true, Duration.ofSeconds(30), Duration.ofMinutes(5)), clock);
+
+    @Test
+    public void requestsAreUnlimitedUntilFirstRejection() {
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquire();
+        }
+
+        assertEquals(100, rateLimiter.stats().granted());
+        assertEquals(Integer.MAX_VALUE, rateLimiter.stats().limit());
+    }
+
+    @Test
+    public void rejectionTeachesLimitAndHonoursRetryAfter() {
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+        }
+        clock.advance(Duration.ofSeconds(10));
+        rateLimiter.onRateLimited(Optional.of(Duration.ofSeconds(50)));
+
+        RateLimitedException exception = assertThrows(RateLimitedException.class, rateLimiter::acquire);
+        assertEquals(Duration.ofSeconds(50), exception.getRetryAfter());
+        assertEquals(5, rateLimiter.stats().limit());
+        assertEquals(Duration.ofSeconds(60), rateLimiter.stats().window());
+
+        clock.advance(Duration.ofSeconds(50));
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        assertThrows(RateLimitedException.class, rateLimiter::acquire);
+        assertEquals(2, rateLimiter.stats().rejected());
+    }
+
+    @Test
+    public void rejectionsWithoutRetryAfterBackOffExponentially() {
+        rateLimiter.acquire();
+        rateLimiter.onRateLimited(Optional.empty());
+        assertEquals(Duration.ofSeconds(30), rateLimiter.stats().blockedFor());
+
+        clock.advance(Duration.ofSeconds(30));
+        rateLimiter.acquire();
+        rateLimiter.onRateLimited(Optional.empty());
+        assertEquals(Duration.ofSeconds(60), rateLimiter.stats().blockedFor());
+    }
+
+    @Test
+    public void fullyUsedWindowWithoutRejectionRaisesLimit() {
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        rateLimiter.onRateLimited(Optional.of(Duration.ofSeconds(30)));
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(2, rateLimiter.stats().limit());
+
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        clock.advance(rateLimiter.stats().window());
+        rateLimiter.acquire();
+
+        assertEquals(3, rateLimiter.stats().limit());
+    }
+
+    @Test
+    public void notModifiedResponsesDoNotUseUpTheLimit() {
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        rateLimiter.onRateLimited(Optional.of(Duration.ofSeconds(30)));
+        clock.advance(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onNotModified();
+        }
+        rateLimiter.acquire();
+
+        assertThrows(RateLimitedException.class, rateLimiter::acquire);
+    }
+
+    @Test
+    public void retryAfterAcceptsSecondsAndHttpDates() {
+        assertEquals(Optional.of(Duration.ofSeconds(42)), AdaptiveRateLimiter.parseRetryAfter("42", clock));
+        assertEquals(
+                Optional.of(Duration.ofSeconds(90)),
+                AdaptiveRateLimiter.parseRetryAfter("Mon, 01 Jan 2024 00:01:30 GMT", clock));
+        assertEquals(Optional.empty(), AdaptiveRateLimiter.parseRetryAfter("soon", clock));
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void retriesAreLimitedToShareOfRequests() {
+        RetryBudget retryBudget = new RetryBudget(0.5, 2);
+
+        assertTrue(retryBudget.tryRetry());
+        assertTrue(retryBudget.tryRetry());
+        assertFalse(retryBudget.tryRetry());
+
+        retryBudget.onRequest();
+        retryBudget.onRequest();
+        assertTrue(retryBudget.tryRetry());
+        assertFalse(retryBudget.tryRetry());
+        assertEquals(3, retryBudget.stats().retries());
+        assertEquals(2, retryBudget.stats().exhausted());
+    }
+}
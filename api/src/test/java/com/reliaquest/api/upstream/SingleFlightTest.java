@@ -0,0 +1,77 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.ApiException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    public void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("roster", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "roster";
+                })));
+            }
+            while (singleFlight.stats().coalesced() < 3) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("roster", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.stats().executed());
+        assertEquals(3, singleFlight.stats().coalesced());
+        assertEquals(0, singleFlight.stats().inFlight());
+    }
+
+    @Test
+    public void failureIsNotRememberedAfterCallCompletes() {
+        assertThrows(ApiException.class, () -> singleFlight.execute("employee:1", () -> {
+            throw new ApiException("Too many requests", 429);
+        }));
+
+        assertEquals("ok", singleFlight.execute("employee:1", () -> "ok"));
+        assertEquals(2, singleFlight.stats().executed());
+    }
+
+    @Test
+    public void differentKeysDoNotShareCalls() {
+        assertEquals("a", singleFlight.execute("employee:a", () -> "a"));
+        assertEquals("b", singleFlight.execute("employee:b", () -> "b"));
+
+        assertEquals(0, singleFlight.stats().coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
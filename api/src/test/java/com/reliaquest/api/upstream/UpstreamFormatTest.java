@@ -0,0 +1,72 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.dto.EmployeeResponse;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+public class UpstreamFormatTest {
+
+    private static final Employee EMPLOYEE =
+            new Employee(UUID.randomUUID(), "Jane Doe", 120_000, 34, "Engineer", "jane@company.com");
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Test
+    public void smileIsAskedForBeforeJson() {
+        UpstreamFormat format = new UpstreamFormat(jsonMapper, smileMapper, true);
+
+        assertEquals("application/x-jackson-smile, application/json;q=0.9", MediaType.toString(format.accept()));
+    }
+
+    @Test
+    public void onlyJsonIsAskedForWhenSmileIsNotPreferred() {
+        UpstreamFormat format = new UpstreamFormat(jsonMapper, smileMapper, false);
+
+        assertEquals(List.of(MediaType.APPLICATION_JSON), format.accept());
+    }
+
+    @Test
+    public void responsesAreParsedInTheFormatTheyDeclare() throws Exception {
+        UpstreamFormat format = new UpstreamFormat(jsonMapper, smileMapper, true);
+        Map<String, Object> envelope = Map.of("data", List.of(EMPLOYEE), "status", "ok");
+
+        List<Employee> fromSmile = new ArrayList<>();
+        format.employeeReader(UpstreamFormat.SMILE)
+                .read(new ByteArrayInputStream(smileMapper.writeValueAsBytes(envelope)), fromSmile::add);
+        List<Employee> fromJson = new ArrayList<>();
+        format.employeeReader(MediaType.APPLICATION_JSON)
+                .read(new ByteArrayInputStream(jsonMapper.writeValueAsBytes(envelope)), fromJson::add);
+
+        assertEquals(List.of(EMPLOYEE), fromSmile);
+        assertEquals(List.of(EMPLOYEE), fromJson);
+        assertSame(smileMapper, format.mapper(UpstreamFormat.SMILE));
+        assertSame(jsonMapper, format.mapper(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void responsesWithoutAContentTypeAreReadAsJson() {
+        UpstreamFormat format = new UpstreamFormat(jsonMapper, smileMapper, true);
+
+        assertSame(jsonMapper, format.mapper(null));
+    }
+
+    @Test
+    public void responseConverterReadsSmileButNeverWritesRequestBodies() {
+        UpstreamFormat format = new UpstreamFormat(jsonMapper, smileMapper, true);
+
+        assertTrue(format.responseConverter().canRead(EmployeeResponse.class, UpstreamFormat.SMILE));
+        assertFalse(format.responseConverter().canWrite(Employee.class, null));
+        assertFalse(format.responseConverter().canWrite(Employee.class, UpstreamFormat.SMILE));
+    }
+}
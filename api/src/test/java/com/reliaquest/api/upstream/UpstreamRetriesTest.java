@@ -0,0 +1,186 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.ApiException;
+import com.reliaquest.api.exceptions.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class UpstreamRetriesTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final RetryConfig retryConfig = RetryConfig.custom()
+            .maxAttempts(4)
+            .waitDuration(Duration.ofMillis(10))
+            .retryOnException(e -> !(e instanceof UpstreamUnavailableException))
+            .build();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("upstream");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryBudget retryBudget = new RetryBudget(0.2, 10);
+    private final UpstreamRetries upstreamRetries = new UpstreamRetries(
+            retryConfig,
+            RetryConfig.from(retryConfig).maxAttempts(2).build(),
+            retryBudget,
+            scheduler,
+            circuitBreaker,
+            Bulkhead.ofDefaults("upstream"),
+            meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void asyncCallIsRetriedOnScheduler() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = upstreamRetries.executeAsync("getEmployeeByIdAsync", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(new ApiException("Too many requests", 429));
+            }
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertEquals("ok", result.join());
+        assertEquals(3, attempts.get());
+        RetryStats stats = upstreamRetries.stats().get("getEmployeeByIdAsync");
+        assertEquals(1, stats.successfulWithRetry());
+        assertEquals(2, stats.retryAttempts());
+    }
+
+    @Test
+    public void blockingCallsUseShorterRetryConfig() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ApiException exception = assertThrows(
+                ApiException.class,
+                () -> upstreamRetries.execute("getEmployeeById", () -> {
+                    attempts.incrementAndGet();
+                    throw new ApiException("Too many requests", 429);
+                }));
+
+        assertEquals(429, exception.getStatusCode());
+        assertEquals(2, attempts.get());
+        assertEquals(1, upstreamRetries.stats().get("getEmployeeById").failedWithRetry());
+        assertEquals(1, retryBudget.stats().retries());
+    }
+
+    @Test
+    public void spentBudgetEndsTheCallWithTheLastError() {
+        UpstreamRetries withoutBudget = new UpstreamRetries(
+                retryConfig,
+                retryConfig,
+                new RetryBudget(0, 1),
+                scheduler,
+                circuitBreaker,
+                Bulkhead.ofDefaults("upstream"),
+                meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ApiException exception = assertThrows(
+                ApiException.class,
+                () -> withoutBudget.execute("getEmployeeById", () -> {
+                    attempts.incrementAndGet();
+                    throw new ApiException("Too many requests", 429);
+                }));
+        CompletionException asyncException = assertThrows(
+                CompletionException.class,
+                () -> withoutBudget
+                        .executeAsync("getEmployeeByIdAsync", () -> {
+                            attempts.incrementAndGet();
+                            return CompletableFuture.failedFuture(new ApiException("Too many requests", 429));
+                        })
+                        .join());
+
+        assertEquals(429, exception.getStatusCode());
+        assertInstanceOf(ApiException.class, asyncException.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void asyncFailureIsReportedAfterLastAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = upstreamRetries.executeAsync("createEmployeeAsync", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new ApiException("Too many requests", 429));
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(4, attempts.get());
+        assertEquals(3, retryBudget.stats().retries());
+    }
+
+    @Test
+    public void openCircuitFailsFastWithoutCallingUpstream() {
+        AtomicInteger attempts = new AtomicInteger();
+        circuitBreaker.transitionToOpenState();
+
+        assertThrows(
+                UpstreamUnavailableException.class,
+                () -> upstreamRetries.execute("getEmployeeById", attempts::incrementAndGet));
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> upstreamRetries
+                        .executeAsync("getEmployeeByIdAsync", () -> CompletableFuture.completedFuture("ok"))
+                        .join());
+        assertInstanceOf(UpstreamUnavailableException.class, exception.getCause());
+        assertEquals(0, attempts.get());
+    }
+
+    @Test
+    public void callsAreTimedByOperationAndOutcome() {
+        upstreamRetries.execute("getEmployeeById", () -> "ok");
+        assertThrows(ApiException.class, () -> upstreamRetries.execute("getEmployeeById", () -> {
+            throw new ApiException("Too many requests", 429);
+        }));
+        upstreamRetries
+                .executeAsync("getEmployeeByIdAsync", () -> CompletableFuture.completedFuture("ok"))
+                .join();
+        circuitBreaker.transitionToOpenState();
+        assertThrows(UpstreamUnavailableException.class, () -> upstreamRetries.execute("getEmployeeById", () -> "ok"));
+
+        assertEquals(1, callCount("getEmployeeById", "success"));
+        assertEquals(1, callCount("getEmployeeById", "rate_limited"));
+        assertEquals(1, callCount("getEmployeeById", "unavailable"));
+        assertEquals(1, callCount("getEmployeeByIdAsync", "success"));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get(UpstreamRetries.RETRY_ATTEMPTS_METRIC)
+                        .tag("operation", "getEmployeeById")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    public void outcomeSeparatesClientErrorsFromServerErrors() {
+        assertEquals("client_error", UpstreamRetries.outcome(new ApiException("Employee not found", 404)));
+        assertEquals("server_error", UpstreamRetries.outcome(new ApiException("Upstream failed", 500)));
+        assertEquals("server_error", UpstreamRetries.outcome(new IllegalStateException("Connection reset")));
+        assertEquals(
+                "rate_limited",
+                UpstreamRetries.outcome(new CompletionException(new ApiException("Too many requests", 429))));
+    }
+
+    private long callCount(String operation, String outcome) {
+        return meterRegistry
+                .get(UpstreamRetries.CALLS_METRIC)
+                .tags("operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ServerTimingFilterTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void disabledFilterAddsNoHeader() throws Exception {
+        new ServerTimingFilter(false, 0.0).doFilter(request, response, (req, res) -> {
+            assertFalse(ServerTiming.of(request).isPresent());
+            res.getWriter().write("[]");
+        });
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    public void enabledFilterReportsEveryPhaseAndKeepsTheBody() throws Exception {
+        new ServerTimingFilter(true, 1.0).doFilter(request, response, (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            ServerTiming.current().record(ServerTiming.Phase.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(5));
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        });
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        List<String> metrics = List.of(header.split(", "));
+        assertEquals(
+                List.of("upstream", "backoff", "deserialize", "cache-wait", "app", "serialize", "total"),
+                metrics.stream().map(metric -> metric.substring(0, metric.indexOf(';'))).toList());
+        assertEquals("upstream;dur=5.00", metrics.get(0));
+        assertEquals("[]", response.getContentAsString());
+        assertEquals(2, response.getContentLength());
+    }
+
+    @Test
+    public void currentOutsideATimedRequestRecordsNothing() {
+        ServerTiming timing = ServerTiming.current();
+
+        timing.record(ServerTiming.Phase.UPSTREAM, 1_000);
+
+        assertFalse(timing.isEnabled());
+    }
+
+    @Test
+    public void appTimeIsWhatTheMeasuredPhasesDoNotCover() {
+        ServerTiming timing = ServerTiming.start(request, 0);
+        timing.record(ServerTiming.Phase.UPSTREAM, millis(3));
+        timing.record(ServerTiming.Phase.BACKOFF, millis(1));
+        timing.record(ServerTiming.Phase.DESERIALIZE, millis(1));
+        timing.record(ServerTiming.Phase.CACHE_WAIT, millis(2));
+        timing.markHandled(millis(12));
+        timing.markHandled(millis(13));
+
+        Map<String, Duration> breakdown = timing.breakdown(millis(14));
+
+        assertEquals(Duration.ofMillis(5), breakdown.get("app"));
+        assertEquals(Duration.ofMillis(2), breakdown.get("serialize"));
+        assertEquals(Duration.ofMillis(14), breakdown.get("total"));
+        assertEquals(
+                "upstream;dur=3.00, backoff;dur=1.00, deserialize;dur=1.00, cache-wait;dur=2.00, app;dur=5.00,"
+                        + " serialize;dur=2.00, total;dur=14.00",
+                ServerTiming.header(breakdown));
+        assertEquals(
+                "upstream_ms=3.00 backoff_ms=1.00 deserialize_ms=1.00 cache-wait_ms=2.00 app_ms=5.00 serialize_ms=2.00"
+                        + " total_ms=14.00",
+                ServerTiming.logFields(breakdown));
+    }
+
+    @Test
+    public void workBoundToATimingRecordsToItOnAnyThread() throws Exception {
+        ServerTiming timing = ServerTiming.start(request, 0);
+        Thread worker = new Thread(() -> timing.callAsCurrent(() -> {
+            ServerTiming.current().record(ServerTiming.Phase.UPSTREAM, millis(3));
+            return null;
+        }));
+
+        worker.start();
+        worker.join();
+
+        assertEquals(Duration.ofMillis(3), timing.breakdown(millis(4)).get("upstream"));
+        assertFalse(ServerTiming.current().isEnabled());
+    }
+
+    @Test
+    public void withoutABodyTheWholeRequestIsHandling() {
+        ServerTiming timing = ServerTiming.start(request, 0);
+
+        Map<String, Duration> breakdown = timing.breakdown(millis(4));
+
+        assertEquals(Duration.ofMillis(4), breakdown.get("app"));
+        assertEquals(Duration.ZERO, breakdown.get("serialize"));
+    }
+
+    @Test
+    public void logSampleRateMustBeAFraction() {
+        assertThrows(IllegalArgumentException.class, () -> new ServerTimingFilter(true, 1.5));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.upstream.EmployeeStreamReader;
+import com.reliaquest.benchmarks.Rosters;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Deserialisation of the upstream roster: binding the whole {@link EmployeesResponse} as the RestTemplate does, and
+ * the token-by-token {@link EmployeeStreamReader} the roster cache loads through, each from JSON and from Smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeesResponseBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper smileMapper;
+    private EmployeeStreamReader employeeStreamReader;
+    private EmployeeStreamReader smileStreamReader;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for the api.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        employeeStreamReader = new EmployeeStreamReader(objectMapper);
+        smileStreamReader = new EmployeeStreamReader(smileMapper);
+        List<MockEmployee> mockEmployees = Rosters.mockEmployees(rosterSize);
+        json = Rosters.json(mockEmployees);
+        smile = Rosters.smile(mockEmployees);
+    }
+
+    @Benchmark
+    public EmployeesResponse readEmployeesResponse() throws IOException {
+        return objectMapper.readValue(json, EmployeesResponse.class);
+    }
+
+    @Benchmark
+    public int streamEmployees(Blackhole blackhole) throws IOException {
+        return employeeStreamReader.read(new ByteArrayInputStream(json), blackhole::consume);
+    }
+
+    @Benchmark
+    public EmployeesResponse readEmployeesResponseSmile() throws IOException {
+        return smileMapper.readValue(smile, EmployeesResponse.class);
+    }
+
+    @Benchmark
+    public int streamEmployeesSmile(Blackhole blackhole) throws IOException {
+        return smileStreamReader.read(new ByteArrayInputStream(smile), blackhole::consume);
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.cache.RosterCacheSettings;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.RetryBudget;
+import com.reliaquest.api.upstream.UpstreamFormat;
+import com.reliaquest.api.upstream.UpstreamRetries;
+import com.reliaquest.benchmarks.Rosters;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Search, highest salary and top 10 as {@link EmployeeService} answers them from a warm roster cache, next to the
+ * plain stream pipelines over the same roster that they replaced. The upstream is an in-memory request factory that
+ * serves the roster JSON; the cache TTL outlasts the run, so it is loaded only once, during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    private static final String NAME_FRAGMENT = "son";
+
+    @Param({"1000", "10000", "100000"})
+    private int rosterSize;
+
+    private ScheduledExecutorService scheduler;
+    private EmployeeService employeeService;
+    private List<Employee> roster;
+
+    @Setup
+    public void setUp() {
+        byte[] json = Rosters.json(Rosters.mockEmployees(rosterSize));
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(json, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        UpstreamRetries upstreamRetries = new UpstreamRetries(
+                RetryConfig.ofDefaults(),
+                RetryConfig.ofDefaults(),
+                new RetryBudget(0.2, 10),
+                scheduler,
+                CircuitBreaker.ofDefaults("upstream"),
+                Bulkhead.ofDefaults("upstream"));
+        ExternalService externalService = new ExternalService(
+                restTemplate,
+                "http://localhost:8112/api/v1/employee",
+                upstreamRetries,
+                new RosterCacheSettings(true, Duration.ofDays(1), Duration.ZERO, Duration.ZERO, false),
+                new UpstreamFormat(
+                        Jackson2ObjectMapperBuilder.json().build(),
+                        Jackson2ObjectMapperBuilder.smile().build(),
+                        false),
+                500);
+        employeeService = new EmployeeService(externalService, null);
+        roster = employeeService.getAllEmployees();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return employeeService.getEmployeesByNameSearch(NAME_FRAGMENT);
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> top10() {
+        return employeeService.getTop10HighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<Employee> streamSearch() {
+        return roster.stream()
+                .filter(employee -> employee.employeeName().toLowerCase().contains(NAME_FRAGMENT.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int streamHighestSalary() {
+        return roster.stream().mapToInt(Employee::employeeSalary).max().orElseThrow();
+    }
+
+    @Benchmark
+    public List<String> streamTop10() {
+        return roster.stream()
+                .sorted(Comparator.comparingInt(Employee::employeeSalary).reversed())
+                .limit(10)
+                .map(Employee::employeeName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rosters shared by the benchmarks. They come from the mock server's own generator with a fixed seed, so every run
+ * and every benchmark measures the same employees, and their JSON and Smile are exactly what the server sends.
+ */
+public final class Rosters {
+
+    public static final long SEED = 0x5EED_2024L;
+
+    private Rosters() {}
+
+    public static List<MockEmployee> mockEmployees(int size) {
+        return new MockEmployeeGenerator(Locale.US, SEED).generate(size);
+    }
+
+    /**
+     * The {@code GET /api/v1/employee} response body for {@code mockEmployees}.
+     */
+    public static byte[] json(List<MockEmployee> mockEmployees) {
+        return write(new ObjectMapper(), mockEmployees);
+    }
+
+    /**
+     * The same response as the server encodes it in Smile.
+     */
+    public static byte[] smile(List<MockEmployee> mockEmployees) {
+        return write(new ObjectMapper(ServerConfiguration.smileFactory()), mockEmployees);
+    }
+
+    private static byte[] write(ObjectMapper objectMapper, List<MockEmployee> mockEmployees) {
+        try {
+            return objectMapper.writeValueAsBytes(Response.handledWith(mockEmployees));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
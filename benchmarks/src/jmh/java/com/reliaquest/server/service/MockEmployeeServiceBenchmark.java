@@ -0,0 +1,100 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.benchmarks.Rosters;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and deletes on {@link MockEmployeeService} over both store layouts.
+ * <p>
+ * Deletes change the roster, so they run as single shots of {@link #DELETES_PER_ITERATION} deletes against a freshly
+ * built roster per iteration; the reported time is per batch.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    static final int DELETES_PER_ITERATION = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rosterSize;
+
+    @Param({"object", "columnar"})
+    private String store;
+
+    private List<MockEmployee> mockEmployees;
+    private UUID[] ids;
+    private MockEmployeeService mockEmployeeService;
+    private List<MockEmployee> deleteOrder;
+    private int nextDelete;
+
+    @Setup(Level.Trial)
+    public void generateRoster() {
+        mockEmployees = Rosters.mockEmployees(rosterSize);
+        ids = mockEmployees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        deleteOrder = new ArrayList<>(mockEmployees);
+        Collections.shuffle(deleteOrder, new Random(Rosters.SEED));
+    }
+
+    @Setup(Level.Iteration)
+    public void buildService() {
+        final EmployeeStore employeeStore = "columnar".equals(store)
+                ? ColumnarMockEmployeeStore.of(mockEmployees, EmployeeStore.DEFAULT_RETAINED_CHANGES)
+                : MockEmployeeStore.of(mockEmployees);
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.US), employeeStore, null);
+        mockEmployeeService.indexRoster();
+        nextDelete = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = DELETES_PER_ITERATION)
+    @Measurement(iterations = 10, batchSize = DELETES_PER_ITERATION)
+    public Optional<MockEmployee> deleteById() {
+        return mockEmployeeService.deleteById(nextToDelete().getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = DELETES_PER_ITERATION)
+    @Measurement(iterations = 10, batchSize = DELETES_PER_ITERATION)
+    public boolean deleteByName() {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(nextToDelete().getName());
+        return mockEmployeeService.delete(input);
+    }
+
+    private MockEmployee nextToDelete() {
+        return deleteOrder.get(nextDelete++ % deleteOrder.size());
+    }
+}
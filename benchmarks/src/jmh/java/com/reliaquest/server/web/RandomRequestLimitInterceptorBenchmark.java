@@ -0,0 +1,52 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * One interceptor shared by all benchmark threads, as in the server. The request budget is only a handful of
+ * requests, so after the first few calls this measures the refusal path every request takes during a backoff, with
+ * {@link #request} also running the completion hook that refunds 304s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RandomRequestLimitInterceptorBenchmark {
+
+    private final RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor();
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/v1/employee");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public boolean preHandle(Exchange exchange) {
+        return interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    public boolean request(Exchange exchange) {
+        final boolean handled = interceptor.preHandle(exchange.request, exchange.response, null);
+        interceptor.afterCompletion(exchange.request, exchange.response, null, null);
+        return handled;
+    }
+}
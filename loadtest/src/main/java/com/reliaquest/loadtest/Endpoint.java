@@ -0,0 +1,34 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IEmployeeController} endpoints the load test can drive, under the keys used in {@code --mix}.
+ */
+public enum Endpoint {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Endpoint::key).toList()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcomes and latencies of the measured requests to one endpoint. Latency runs from the time a request was scheduled
+ * to start, not from when it was actually sent, so a stalled client or server shows up in the percentiles instead of
+ * silently lowering the request rate.
+ */
+public final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder tooManyRequests = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param latencyNanos time from the scheduled start of the request until its response was read
+     */
+    public void recordResponse(int status, long latencyNanos) {
+        requests.increment();
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (status == 429) {
+            tooManyRequests.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            successes.increment();
+        }
+    }
+
+    /**
+     * A request that got no response at all, e.g. because it timed out or the connection was refused.
+     */
+    public void recordFailure() {
+        requests.increment();
+        failures.increment();
+    }
+
+    public void add(EndpointStats other) {
+        latencies.add(other.latencies);
+        requests.add(other.requests.sum());
+        successes.add(other.successes.sum());
+        tooManyRequests.add(other.tooManyRequests.sum());
+        clientErrors.add(other.clientErrors.sum());
+        serverErrors.add(other.serverErrors.sum());
+        failures.add(other.failures.sum());
+    }
+
+    public LoadReport.EndpointReport report(Duration measured) {
+        long total = requests.sum();
+        return new LoadReport.EndpointReport(
+                total,
+                total / (measured.toNanos() / 1e9),
+                successes.sum(),
+                tooManyRequests.sum(),
+                clientErrors.sum(),
+                serverErrors.sum(),
+                failures.sum(),
+                rate(tooManyRequests.sum(), total),
+                rate(serverErrors.sum(), total),
+                latencies.getTotalCount() == 0
+                        ? null
+                        : new LoadReport.Latency(
+                                millis(latencies.getValueAtPercentile(50)),
+                                millis(latencies.getValueAtPercentile(90)),
+                                millis(latencies.getValueAtPercentile(99)),
+                                millis(latencies.getValueAtPercentile(99.9)),
+                                millis(latencies.getMaxValue()),
+                                latencies.getMean() / 1000));
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
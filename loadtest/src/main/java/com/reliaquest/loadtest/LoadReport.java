@@ -0,0 +1,88 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Result of one load test run, written as JSON so runs against different builds can be compared.
+ *
+ * @param endpoints per endpoint, keyed by its {@code --mix} key
+ * @param total all measured requests together
+ */
+public record LoadReport(
+        String startedAt,
+        String apiUrl,
+        int rate,
+        String mix,
+        double warmupSeconds,
+        double durationSeconds,
+        Map<String, EndpointReport> endpoints,
+        EndpointReport total) {
+
+    /**
+     * @param throughput completed requests per second over the measured duration
+     * @param tooManyRequestsRate share of requests answered with 429
+     * @param serverErrorRate share of requests answered with a 5xx status
+     * @param latency percentiles of the requests that got a response, {@code null} if none did
+     */
+    public record EndpointReport(
+            long requests,
+            double throughput,
+            long successes,
+            long tooManyRequests,
+            long clientErrors,
+            long serverErrors,
+            long failures,
+            double tooManyRequestsRate,
+            double serverErrorRate,
+            Latency latency) {}
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {}
+
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(
+                "%-14s %9s %9s %7s %7s %10s %10s %10s %10s%n",
+                "endpoint",
+                "requests",
+                "req/s",
+                "429 %",
+                "5xx %",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms");
+        endpoints.forEach((endpoint, report) -> print(out, endpoint, report));
+        print(out, "total", total);
+    }
+
+    private static void print(PrintStream out, String endpoint, EndpointReport report) {
+        Latency latency = report.latency() == null ? new Latency(0, 0, 0, 0, 0, 0) : report.latency();
+        out.printf(
+                "%-14s %9d %9.1f %7.2f %7.2f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint,
+                report.requests(),
+                report.throughput(),
+                report.tooManyRequestsRate() * 100,
+                report.serverErrorRate() * 100,
+                latency.p50(),
+                latency.p99(),
+                latency.p999(),
+                latency.max());
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives the api at a fixed arrival rate and reports latency percentiles, throughput and error rates per endpoint.
+ * <p>
+ * Requests are started on a fixed schedule whether or not earlier ones have completed (an open model), as real
+ * clients would, so a slow api builds up a queue instead of being sent less work. By default the server and the api
+ * are started from their jars first; see {@link LoadTestSettings} for the options.
+ */
+public class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final LoadTestSettings settings;
+
+    public LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        List<LocalApplication> applications = new ArrayList<>();
+        try {
+            if (settings.boot()) {
+                Path logs = settings.report().toAbsolutePath().getParent();
+                applications.add(LocalApplication.start(
+                        "server",
+                        settings.serverJar(),
+                        settings.serverPort(),
+                        settings.serverArgs(),
+                        logs.resolve("server.log"),
+                        settings.startupTimeout()));
+                List<String> apiArgs = new ArrayList<>();
+                apiArgs.add("--externalservie.url=http://localhost:" + settings.serverPort() + "/api/v1/employee");
+                apiArgs.addAll(settings.apiArgs());
+                applications.add(LocalApplication.start(
+                        "api",
+                        settings.apiJar(),
+                        settings.apiPort(),
+                        apiArgs,
+                        logs.resolve("api.log"),
+                        settings.startupTimeout()));
+            }
+            LoadReport report = new LoadTest(settings).run();
+            report.write(settings.report());
+            report.print(System.out);
+            logger.info("Report written to {}", settings.report().toAbsolutePath());
+        } finally {
+            for (int i = applications.size() - 1; i >= 0; i--) {
+                applications.get(i).close();
+            }
+        }
+    }
+
+    public LoadReport run() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(settings.requestTimeout()).build();
+        Workload workload = Workload.load(client, settings);
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        settings.mix().weights().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+        Random random = new Random(settings.seed());
+        AtomicInteger outstanding = new AtomicInteger();
+
+        logger.info(
+                "Sending {} requests/s to {} for {} after a {} warmup, mix {}",
+                settings.rate(),
+                settings.apiUrl(),
+                settings.duration(),
+                settings.warmup(),
+                settings.mix());
+        Instant startedAt = Instant.now();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        for (long n = 0; ; n++) {
+            long scheduled = start + n * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            parkUntil(scheduled);
+            Endpoint endpoint = settings.mix().next(random);
+            EndpointStats endpointStats = scheduled >= measureFrom ? stats.get(endpoint) : null;
+            outstanding.incrementAndGet();
+            client.sendAsync(workload.request(endpoint), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        try {
+                            if (response != null) {
+                                workload.onResponse(endpoint, response);
+                            }
+                            if (endpointStats != null) {
+                                if (response != null) {
+                                    endpointStats.recordResponse(response.statusCode(), latency);
+                                } else {
+                                    endpointStats.recordFailure();
+                                }
+                            }
+                        } finally {
+                            outstanding.decrementAndGet();
+                        }
+                    });
+        }
+        awaitOutstanding(outstanding);
+
+        Map<String, LoadReport.EndpointReport> endpoints = new LinkedHashMap<>();
+        EndpointStats total = new EndpointStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            endpoints.put(endpoint.key(), endpointStats.report(settings.duration()));
+            total.add(endpointStats);
+        });
+        return new LoadReport(
+                startedAt.toString(),
+                settings.apiUrl().toString(),
+                settings.rate(),
+                settings.mix().toString(),
+                settings.warmup().toMillis() / 1000.0,
+                settings.duration().toMillis() / 1000.0,
+                endpoints,
+                total.report(settings.duration()));
+    }
+
+    private void awaitOutstanding(AtomicInteger outstanding) throws InterruptedException {
+        Duration grace = settings.requestTimeout().plusSeconds(5);
+        long deadline = System.nanoTime() + grace.toNanos();
+        while (outstanding.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("{} requests still outstanding after {}, reporting without them", outstanding.get(), grace);
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Options are given as {@code --name=value}; durations accept the Spring Boot forms such as {@code 30s} or {@code 2m}.
+ *
+ * @param rate requests started per second, whether or not earlier ones have completed
+ * @param duration how long requests are measured for
+ * @param warmup how long requests are sent before measuring starts
+ * @param mix relative share of each endpoint, e.g. {@code search:3,getById:1}
+ * @param requestTimeout how long a single request may take before it counts as failed
+ * @param seed seeds the endpoint choice and request parameters, so a mix can be replayed
+ * @param report where the JSON report is written
+ * @param boot when {@code true} the server and api jars are started locally and stopped afterwards; otherwise
+ *     {@code apiUrl} must point at a running api
+ * @param apiUrl base URL of the employee endpoints
+ * @param serverJar executable server jar, normally set by the {@code bootRun} task
+ * @param apiJar executable api jar, normally set by the {@code bootRun} task
+ * @param serverPort port the local server is started on
+ * @param apiPort port the local api is started on
+ * @param serverArgs extra comma-separated arguments for the local server, e.g. {@code --mock.employees.max=10000}
+ * @param apiArgs extra comma-separated arguments for the local api
+ * @param startupTimeout how long to wait for the local applications and the initial roster
+ */
+public record LoadTestSettings(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        EndpointMix mix,
+        Duration requestTimeout,
+        long seed,
+        Path report,
+        boolean boot,
+        URI apiUrl,
+        Path serverJar,
+        Path apiJar,
+        int serverPort,
+        int apiPort,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        Duration startupTimeout) {
+
+    static final String DEFAULT_MIX = "getAll:5,search:20,getById:30,highestSalary:15,topTen:15,create:10,delete:5";
+
+    public LoadTestSettings {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Rate must be at least 1 request per second");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (boot && (serverJar == null || apiJar == null)) {
+            throw new IllegalArgumentException(
+                    "Starting the applications needs --server-jar and --api-jar; run through"
+                            + " ./gradlew loadtest:bootRun or pass --boot=false with --api-url");
+        }
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        Optional<Path> serverJar = option(options, "server-jar", "loadtest.server-jar").map(Path::of);
+        Optional<Path> apiJar = option(options, "api-jar", "loadtest.api-jar").map(Path::of);
+        boolean boot = option(options, "boot", null)
+                .map(Boolean::parseBoolean)
+                .orElse(serverJar.isPresent() && apiJar.isPresent());
+        int apiPort = Integer.parseInt(options.getOrDefault("api-port", "8111"));
+        return new LoadTestSettings(
+                Integer.parseInt(options.getOrDefault("rate", "50")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                EndpointMix.parse(options.getOrDefault("mix", DEFAULT_MIX)),
+                DurationStyle.detectAndParse(options.getOrDefault("request-timeout", "10s")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("report", "build/loadtest/report.json")),
+                boot,
+                URI.create(options.getOrDefault("api-url", "http://localhost:" + apiPort + "/api/v1/employee")),
+                serverJar.orElse(null),
+                apiJar.orElse(null),
+                Integer.parseInt(options.getOrDefault("server-port", "8112")),
+                apiPort,
+                list(options.get("server-args")),
+                list(options.get("api-args")),
+                DurationStyle.detectAndParse(options.getOrDefault("startup-timeout", "2m")));
+    }
+
+    private static Optional<String> option(Map<String, String> options, String name, String systemProperty) {
+        return Optional.ofNullable(options.get(name))
+                .or(() -> Optional.ofNullable(systemProperty == null ? null : System.getProperty(systemProperty)));
+    }
+
+    private static List<String> list(String value) {
+        return value == null || value.isBlank()
+                ? List.of()
+                : Arrays.stream(value.split(",")).map(String::trim).toList();
+    }
+}
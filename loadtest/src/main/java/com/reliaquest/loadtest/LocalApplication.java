@@ -0,0 +1,88 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One of the Spring Boot applications, run from its executable jar in a child JVM. Its output goes to a log file next
+ * to the report rather than mixing with the load test's own.
+ */
+public final class LocalApplication implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalApplication.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(15);
+
+    private final String name;
+    private final Process process;
+
+    private LocalApplication(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    /**
+     * Starts the jar and waits until it accepts connections on {@code port}.
+     */
+    public static LocalApplication start(
+            String name, Path jar, int port, List<String> args, Path logFile, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        logger.info("Starting {} on port {}, logging to {}", name, port, logFile);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        LocalApplication application = new LocalApplication(name, process);
+        try {
+            application.awaitPort(port, startupTimeout);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    private void awaitPort(int port, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IOException(name + " exited with status " + process.exitValue() + " while starting");
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 500);
+                logger.info("{} is up on port {}", name, port);
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IOException(name + " did not open port " + port + " within " + timeout, e);
+                }
+                Thread.sleep(250);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("{} did not stop within {}, killing it", name, SHUTDOWN_TIMEOUT);
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
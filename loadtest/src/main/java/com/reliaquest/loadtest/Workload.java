@@ -0,0 +1,154 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the requests for each endpoint from the roster read at the start of the run.
+ * <p>
+ * Lookups use IDs from that roster and search for name fragments taken from it. Deletes remove employees the run
+ * itself created, oldest first, so the original roster stays intact; only when none are left do they fall back to a
+ * roster employee, after which lookups of that ID answer 404.
+ */
+public final class Workload {
+
+    private static final Logger logger = LoggerFactory.getLogger(Workload.class);
+
+    private static final int FRAGMENT_LENGTH = 3;
+
+    private final URI apiUrl;
+    private final Duration requestTimeout;
+    private final Random random;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> rosterIds;
+    private final List<String> nameFragments;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private long created;
+
+    private Workload(URI apiUrl, Duration requestTimeout, long seed, List<String> rosterIds, List<String> names) {
+        this.apiUrl = apiUrl;
+        this.requestTimeout = requestTimeout;
+        this.random = new Random(seed);
+        this.rosterIds = rosterIds;
+        this.nameFragments = new ArrayList<>();
+        for (String name : names) {
+            if (name.length() >= FRAGMENT_LENGTH) {
+                int start = random.nextInt(name.length() - FRAGMENT_LENGTH + 1);
+                nameFragments.add(name.substring(start, start + FRAGMENT_LENGTH).toLowerCase(Locale.ROOT));
+            }
+        }
+        if (nameFragments.isEmpty()) {
+            nameFragments.add("a");
+        }
+    }
+
+    /**
+     * Reads the roster through the api, retrying until {@code timeout} while the upstream is still rate limiting.
+     */
+    public static Workload load(HttpClient client, LoadTestSettings settings)
+            throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long deadline = System.nanoTime() + settings.startupTimeout().toNanos();
+        while (true) {
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(settings.apiUrl())
+                            .timeout(settings.requestTimeout())
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                List<String> ids = new ArrayList<>();
+                List<String> names = new ArrayList<>();
+                for (JsonNode employee : objectMapper.readTree(response.body())) {
+                    ids.add(employee.path("id").asText());
+                    names.add(employee.path("employee_name").asText());
+                }
+                if (ids.isEmpty()) {
+                    throw new IOException("The roster is empty; there is nothing to look up");
+                }
+                logger.info("Read a roster of {} employees", ids.size());
+                return new Workload(settings.apiUrl(), settings.requestTimeout(), settings.seed(), ids, names);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Could not read the roster, last status " + response.statusCode());
+            }
+            logger.info("Roster not available yet (status {}), retrying", response.statusCode());
+            Thread.sleep(1000);
+        }
+    }
+
+    /**
+     * Only called from the thread that schedules requests.
+     */
+    public HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case GET_ALL -> get("");
+            case SEARCH -> get("/search/" + URLEncoder.encode(any(nameFragments), StandardCharsets.UTF_8));
+            case GET_BY_ID -> get("/" + any(rosterIds));
+            case HIGHEST_SALARY -> get("/highest-salary");
+            case TOP_TEN -> get("/top-ten-salaries");
+            case CREATE -> builder("")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(newEmployee()))
+                    .build();
+            case DELETE -> {
+                String id = createdIds.poll();
+                yield builder("/" + (id != null ? id : any(rosterIds)))
+                        .DELETE()
+                        .build();
+            }
+        };
+    }
+
+    public void onResponse(Endpoint endpoint, HttpResponse<byte[]> response) {
+        if (endpoint == Endpoint.CREATE && response.statusCode() / 100 == 2) {
+            try {
+                createdIds.add(objectMapper.readTree(response.body()).path("id").asText());
+            } catch (IOException e) {
+                logger.debug("Could not read the created employee", e);
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(apiUrl + path)).timeout(requestTimeout);
+    }
+
+    private byte[] newEmployee() {
+        long number = ++created;
+        try {
+            return objectMapper.writeValueAsBytes(Map.of(
+                    "name", "Load Test " + number,
+                    "salary", 30_000 + random.nextInt(470_000),
+                    "age", 16 + random.nextInt(60),
+                    "title", "Load Tester",
+                    "email", "loadtest" + number + "@company.com"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String any(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
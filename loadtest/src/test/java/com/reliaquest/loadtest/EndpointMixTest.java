@@ -0,0 +1,47 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class EndpointMixTest {
+
+    @Test
+    public void endpointsAreChosenInProportionToTheirWeights() {
+        EndpointMix mix = EndpointMix.parse("search:3, getById:1");
+        Random random = new Random(42);
+        Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(30_000, counts.get(Endpoint.SEARCH), 600);
+        assertEquals(10_000, counts.get(Endpoint.GET_BY_ID), 600);
+    }
+
+    @Test
+    public void zeroWeightsAreLeftOutOfTheMix() {
+        EndpointMix mix = EndpointMix.parse("topTen:2,delete:0,topTen:1");
+
+        assertEquals(Map.of(Endpoint.TOP_TEN, 3), mix.weights());
+        assertEquals("topTen:3", mix.toString());
+    }
+
+    @Test
+    public void unknownEndpointIsRejected() {
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> EndpointMix.parse("getEveryone:1"));
+
+        assertTrue(e.getMessage().contains("getEveryone"));
+    }
+
+    @Test
+    public void mixWithoutPositiveWeightIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EndpointMix.parse("search:0"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LoadTestSettingsTest {
+
+    @Test
+    public void optionsOverrideDefaults() {
+        LoadTestSettings settings = LoadTestSettings.parse(
+                "--rate=200",
+                "--duration=2m",
+                "--warmup=500ms",
+                "--mix=search:1",
+                "--server-jar=server.jar",
+                "--api-jar=api.jar",
+                "--api-port=9111",
+                "--server-args=--mock.employees.max=10000, --mock.store.columnar=true");
+
+        assertEquals(200, settings.rate());
+        assertEquals(Duration.ofMinutes(2), settings.duration());
+        assertEquals(Duration.ofMillis(500), settings.warmup());
+        assertEquals("search:1", settings.mix().toString());
+        assertTrue(settings.boot());
+        assertEquals(Path.of("api.jar"), settings.apiJar());
+        assertEquals(URI.create("http://localhost:9111/api/v1/employee"), settings.apiUrl());
+        assertEquals(List.of("--mock.employees.max=10000", "--mock.store.columnar=true"), settings.serverArgs());
+        assertEquals(List.of(), settings.apiArgs());
+    }
+
+    @Test
+    public void runningApiCanBeTargetedWithoutJars() {
+        LoadTestSettings settings = LoadTestSettings.parse("--boot=false", "--api-url=http://api:8111/api/v1/employee");
+
+        assertFalse(settings.boot());
+        assertEquals(URI.create("http://api:8111/api/v1/employee"), settings.apiUrl());
+        assertEquals(LoadTestSettings.DEFAULT_MIX, settings.mix().toString());
+    }
+
+    @Test
+    public void bootingWithoutJarsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("--boot=true"));
+    }
+
+    @Test
+    public void malformedOptionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("--rate", "100"));
+    }
+}
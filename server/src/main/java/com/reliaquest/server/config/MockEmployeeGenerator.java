@@ -0,0 +1,78 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup roster in parallel and reproducibly.
+ * <p>
+ * Employees are produced in fixed-size blocks. Each block has its own {@link Faker} whose random source is derived
+ * from the seed and the block number only, so blocks can be generated on all cores in any order and the roster is
+ * the same for a given seed, size and locale. Employees are built directly rather than through Datafaker's
+ * reflective object transformer.
+ */
+public class MockEmployeeGenerator {
+
+    static final int BLOCK_SIZE = 10_000;
+
+    private final Locale locale;
+    private final long seed;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return IntStream.range(0, blocks)
+                .parallel()
+                .mapToObj(block -> generateBlock(block, Math.min(BLOCK_SIZE, count - block * BLOCK_SIZE)))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<MockEmployee> generateBlock(int block, int size) {
+        final var random = new Random(blockSeed(block));
+        final var faker = new Faker(locale, random);
+        final var mockEmployees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            mockEmployees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return mockEmployees;
+    }
+
+    /*
+     * SplitMix64 over the seed and block number, so neighbouring blocks get unrelated random sequences.
+     */
+    private long blockSeed(int block) {
+        long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * A version 4 UUID drawn from the block's random source instead of SecureRandom, so IDs are reproducible too.
+     */
+    private static UUID randomUuid(Random random) {
+        final long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificantBits = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -1,21 +1,22 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -25,31 +26,95 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final int MAX_LOGGED_EMPLOYEES = 1000;
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. Without a configured seed every start produces a new
+     * roster; the seed used is logged so that roster can be reproduced. The columnar store trades some CPU on every
+     * read for a fraction of the heap, which matters for rosters of millions.
+     */
+    @Bean
+    public EmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.store.columnar:false}") boolean columnar,
+            @Value("${mock.changes.retained:" + EmployeeStore.DEFAULT_RETAINED_CHANGES + "}") int retainedChanges,
+            @Value("${mock.store.report-heap:false}") boolean reportHeap) {
+        final long rosterSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        if (!reportHeap) {
+            return buildStore(maxEmployees, rosterSeed, columnar, retainedChanges);
+        }
+        final long heapBefore = usedHeapAfterGc();
+        final var store = buildStore(maxEmployees, rosterSeed, columnar, retainedChanges);
+        reportHeapUsage(store, heapBefore);
+        return store;
+    }
+
+    /*
+     * The generated roster is only reachable from this method, so once it returns the heap in use holds the store
+     * alone, not the store and the list it was built from.
+     */
+    private static EmployeeStore buildStore(int maxEmployees, long rosterSeed, boolean columnar, int retainedChanges) {
+        final long start = System.nanoTime();
+        final var mockEmployees = new MockEmployeeGenerator(Locale.getDefault(), rosterSeed).generate(maxEmployees);
+        if (maxEmployees <= MAX_LOGGED_EMPLOYEES) {
+            mockEmployees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        log.info(
+                "Generated {} employees from seed {} in {}ms",
+                mockEmployees.size(),
+                rosterSeed,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return columnar
+                ? ColumnarMockEmployeeStore.of(mockEmployees, retainedChanges)
+                : MockEmployeeStore.of(mockEmployees, retainedChanges);
+    }
+
+    /*
+     * Heap taken by the store, measured as the change in heap in use after a requested GC; approximate, and
+     * meaningless if explicit GCs are disabled. Only done when asked for with mock.store.report-heap, as each
+     * requested GC is a full collection that stalls startup.
+     */
+    private static void reportHeapUsage(EmployeeStore store, long heapBefore) {
+        if (store.size() == 0) {
+            return;
+        }
+        final long bytes = Math.max(0, usedHeapAfterGc() - heapBefore);
+        log.info(
+                "{} holds {} employees in ~{} MB of heap, ~{} MB per million employees",
+                store.getClass().getSimpleName(),
+                store.size(),
+                bytes / BYTES_PER_MB,
+                bytes * 1_000_000 / store.size() / BYTES_PER_MB);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /*
+     * Answers clients that ask for Smile (Accept: application/x-jackson-smile), Jackson's binary JSON, in Smile. Every
+     * property name is written once per response, which matters for the long employee_* names, and short repeated
+     * values such as titles are shared the same way. Clients that do not ask still get JSON.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    /**
+     * The factory behind the server's Smile responses, for anything that needs to produce exactly what it sends.
+     */
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
     }
 
     @Override
@@ -2,13 +2,21 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
+import com.reliaquest.server.model.GetMockEmployeesInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatch;
+import com.reliaquest.server.model.MockEmployeeBulkResult;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,7 +25,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
@@ -26,9 +36,54 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    /**
+     * Answers {@code If-None-Match} with a bodyless 304 while the roster is unchanged, so clients that keep the roster
+     * skip both the transfer and the parsing. The tag names the roster version whether it is sent as JSON or Smile;
+     * {@code Vary: Accept} keeps caches from serving one format for the other.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<Collection<MockEmployee>>> getEmployees(WebRequest request) {
+        // Taken before the roster is read, so the tag never claims a newer roster than the one sent.
+        final var eTag = mockEmployeeService.getRosterETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    @GetMapping(params = "limit")
+    public Response<MockEmployeePage> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        return Response.handledWith(mockEmployeeService.getMockEmployeesPage(limit, cursor));
+    }
+
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", defaultValue = "" + MockEmployeeService.MAX_PAGE_SIZE) int limit) {
+        return Response.handledWith(mockEmployeeService.getChanges(since, limit));
+    }
+
+    @GetMapping("/highest-salary")
+    public ResponseEntity<Response<Integer>> getHighestSalary() {
+        final var highestSalary = mockEmployeeService.getHighestSalary();
+        if (highestSalary.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled());
+        }
+        return ResponseEntity.ok(Response.handledWith(highestSalary.getAsInt()));
+    }
+
+    @GetMapping("/top-salaries")
+    public Response<List<String>> getTopEarnerNames(@RequestParam(value = "n", defaultValue = "10") int count) {
+        return Response.handledWith(mockEmployeeService.getTopEarnerNames(count));
+    }
+
+    @GetMapping("/search/{fragment}")
+    public Response<List<MockEmployee>> searchByName(@PathVariable("fragment") String fragment) {
+        return Response.handledWith(mockEmployeeService.searchByName(fragment));
     }
 
     @GetMapping("/{id}")
@@ -39,11 +94,34 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    @PostMapping("/batch-get")
+    public Response<MockEmployeeBatch> getEmployeesByIds(@Valid @RequestBody GetMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.findByIds(input.getIds()));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    @PostMapping("/bulk")
+    public Response<List<MockEmployeeBulkResult>> createEmployees(@RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(inputs));
+    }
+
+    @DeleteMapping("/bulk")
+    public Response<List<MockEmployeeBulkResult>> deleteEmployees(@Valid @RequestBody DeleteMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.deleteAllByIds(input.getIds()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
@@ -0,0 +1,17 @@
+package com.reliaquest.server.model;
+
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class GetMockEmployeesInput {
+
+    @NotEmpty
+    @Size(max = MockEmployeeService.MAX_BATCH_SIZE)
+    private List<@NotNull UUID> ids;
+}
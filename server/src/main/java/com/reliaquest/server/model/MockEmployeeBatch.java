@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a multi-ID lookup: the employees found, in request order, and the requested IDs that do not exist.
+ */
+public record MockEmployeeBatch(List<MockEmployee> found, List<UUID> missing) {}
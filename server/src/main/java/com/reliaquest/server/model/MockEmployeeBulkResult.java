@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk request. {@code index} is the item's position in the request; exactly one of
+ * {@code employee} (the employee created or removed) and {@code error} is present.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeBulkResult(int index, MockEmployee employee, String error) {
+
+    public static MockEmployeeBulkResult applied(int index, MockEmployee employee) {
+        return new MockEmployeeBulkResult(index, employee, null);
+    }
+
+    public static MockEmployeeBulkResult failed(int index, String error) {
+        return new MockEmployeeBulkResult(index, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+/**
+ * One entry of the roster change log. {@code version} is the roster version the change produced; {@code employee} is
+ * the employee as created, or as it was when removed.
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
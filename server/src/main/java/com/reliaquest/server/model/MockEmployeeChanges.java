@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after the version a client asked for, oldest first. Applying them brings the client to {@code version};
+ * if {@code hasMore} is set, it should ask again from there. {@code truncated} means the log no longer reaches back to
+ * the requested version (or {@code epoch}, which identifies the server run, differs from the client's), so the client
+ * has to reload the roster and follow the log from {@code version}, the version current at the time of the answer.
+ */
+public record MockEmployeeChanges(
+        String epoch, long version, boolean truncated, boolean hasMore, List<MockEmployeeChange> changes) {}
@@ -4,11 +4,24 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatch;
+import com.reliaquest.server.model.MockEmployeeBulkResult;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.store.EmployeeStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,16 +33,108 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final int MAX_BULK_SIZE = 1000;
+
+    private static final String CURSOR_PREFIX = "p:";
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeStore mockEmployeeStore;
+
+    private final Validator validator;
+
+    /*
+     * Distinguishes this run's versions from those of earlier runs, which start from the same counter.
+     */
+    private final String rosterEpoch = Long.toHexString(System.currentTimeMillis());
+
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    @PostConstruct
+    void indexRoster() {
+        mockEmployeeStore.values().forEach(salaryIndex::add);
+    }
+
+    /**
+     * Strong entity tag of the current roster; it changes whenever an employee is added or removed.
+     */
+    public String getRosterETag() {
+        return "\"" + rosterEpoch + "-" + mockEmployeeStore.version() + "\"";
+    }
+
+    /**
+     * Changes made after version {@code since}, oldest first. Without {@code since} no changes are returned, only the
+     * current version: a client reads it before loading the full roster and follows the log from there. Changes
+     * already contained in that roster may be replayed to it, so clients apply them idempotently by id.
+     */
+    public MockEmployeeChanges getChanges(Long since, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Change limit must be at least 1.");
+        }
+        if (since == null) {
+            return new MockEmployeeChanges(rosterEpoch, mockEmployeeStore.version(), false, false, List.of());
+        }
+        final var feed = mockEmployeeStore.changesSince(since, Math.min(limit, MAX_PAGE_SIZE));
+        return new MockEmployeeChanges(rosterEpoch, feed.version(), feed.truncated(), feed.hasMore(), feed.changes());
+    }
+
+    /**
+     * Live view of the roster; a columnar store only materialises employees as the view is iterated, i.e. while the
+     * response is serialised.
+     */
+    public Collection<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.values();
+    }
+
+    /**
+     * Cursor-based page of the roster. Cursors are opaque to clients and point just past the last employee returned,
+     * so paging stays stable while employees are created and deleted.
+     */
+    public MockEmployeePage getMockEmployeesPage(int limit, String cursor) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1.");
+        }
+        final var slice = mockEmployeeStore.slice(decodeCursor(cursor), Math.min(limit, MAX_PAGE_SIZE));
+        return new MockEmployeePage(
+                slice.mockEmployees(), slice.hasMore() ? encodeCursor(slice.lastPosition()) : null);
+    }
+
+    public OptionalInt getHighestSalary() {
+        return salaryIndex.highestSalary();
+    }
+
+    public List<String> getTopEarnerNames(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be at least 1.");
+        }
+        return salaryIndex.topEarnerNames(count);
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        if (fragment.isBlank()) {
+            throw new IllegalArgumentException("Search fragment must not be blank.");
+        }
+        return mockEmployeeStore.findByNameContaining(fragment);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * Looks up every requested ID directly in the store; duplicates are answered once.
+     */
+    public MockEmployeeBatch findByIds(@NonNull Collection<UUID> uuids) {
+        final var found = new ArrayList<MockEmployee>(uuids.size());
+        final var missing = new ArrayList<UUID>();
+        for (UUID uuid : new LinkedHashSet<>(uuids)) {
+            mockEmployeeStore.findById(uuid).ifPresentOrElse(found::add, () -> missing.add(uuid));
+        }
+        return new MockEmployeeBatch(found, missing);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +142,99 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        synchronized (salaryIndex) {
+            mockEmployeeStore.add(mockEmployee);
+            salaryIndex.add(mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every valid input; invalid ones are reported in their result and do not affect the others.
+     */
+    public List<MockEmployeeBulkResult> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        checkBulkSize(inputs.size());
+        final var results = new ArrayList<MockEmployeeBulkResult>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var input = inputs.get(index);
+            if (input == null) {
+                results.add(MockEmployeeBulkResult.failed(index, "Employee input must not be null."));
+                continue;
+            }
+            final var violations = validator.validate(input);
+            if (!violations.isEmpty()) {
+                results.add(MockEmployeeBulkResult.failed(
+                        index,
+                        violations.stream()
+                                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining(", "))));
+                continue;
+            }
+            results.add(MockEmployeeBulkResult.applied(index, create(input)));
+        }
+        return results;
+    }
+
+    public List<MockEmployeeBulkResult> deleteAllByIds(@NonNull List<UUID> uuids) {
+        checkBulkSize(uuids.size());
+        final var results = new ArrayList<MockEmployeeBulkResult>(uuids.size());
+        for (int index = 0; index < uuids.size(); index++) {
+            final var uuid = uuids.get(index);
+            final int position = index;
+            results.add(remove(() -> mockEmployeeStore.removeById(uuid))
+                    .map(employee -> MockEmployeeBulkResult.applied(position, employee))
+                    .orElseGet(() -> MockEmployeeBulkResult.failed(position, "Employee not found: " + uuid)));
+        }
+        return results;
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        return remove(() -> mockEmployeeStore.removeById(uuid));
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        return remove(() -> mockEmployeeStore.removeFirstByName(input.getName())).isPresent();
+    }
+
+    /*
+     * Runs a store removal together with the matching index update, so a concurrent create cannot interleave.
+     */
+    private Optional<MockEmployee> remove(Supplier<Optional<MockEmployee>> removal) {
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (salaryIndex) {
+            mockEmployee = removal.get();
+            mockEmployee.ifPresent(employee -> salaryIndex.remove(employee.getId()));
+        }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
+    private static void checkBulkSize(int size) {
+        if (size > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " items can be sent at once.");
         }
+    }
+
+    private static String encodeCursor(long position) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((CURSOR_PREFIX + position).getBytes(StandardCharsets.UTF_8));
+    }
 
-        return false;
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected cursor {}", cursor, e);
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
     }
 }
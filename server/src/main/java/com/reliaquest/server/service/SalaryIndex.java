@@ -0,0 +1,64 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+
+/**
+ * Employees ordered by salary, highest first, so salary queries read only as many entries as they return. Equal
+ * salaries keep the order the employees were indexed in, like a stable sort of the roster. Reads are lock-free;
+ * callers serialise an update with the store change it mirrors.
+ */
+class SalaryIndex {
+
+    private static final Comparator<Ranked> HIGHEST_FIRST = Comparator.comparingInt(Ranked::salary)
+            .reversed()
+            .thenComparingLong(Ranked::sequence);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(HIGHEST_FIRST);
+    private final Map<UUID, Ranked> byId = new ConcurrentHashMap<>();
+
+    void add(@NonNull MockEmployee mockEmployee) {
+        if (mockEmployee.getSalary() == null) {
+            return;
+        }
+        final var ranked = new Ranked(mockEmployee.getSalary(), sequence.incrementAndGet(), mockEmployee.getName());
+        if (byId.putIfAbsent(mockEmployee.getId(), ranked) == null) {
+            ranking.add(ranked);
+        }
+    }
+
+    void remove(@NonNull UUID uuid) {
+        final var ranked = byId.remove(uuid);
+        if (ranked != null) {
+            ranking.remove(ranked);
+        }
+    }
+
+    OptionalInt highestSalary() {
+        final var iterator = ranking.iterator();
+        return iterator.hasNext() ? OptionalInt.of(iterator.next().salary()) : OptionalInt.empty();
+    }
+
+    List<String> topEarnerNames(int count) {
+        final var names = new ArrayList<String>(Math.min(count, byId.size()));
+        for (var ranked : ranking) {
+            if (names.size() == count) {
+                break;
+            }
+            names.add(ranked.name());
+        }
+        return names;
+    }
+
+    private record Ranked(int salary, long sequence, String name) {}
+}
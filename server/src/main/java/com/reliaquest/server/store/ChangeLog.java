@@ -0,0 +1,59 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Roster version and the bounded log of the changes that produced it. Stores hold this log's monitor while they apply
+ * a change and {@link #record} it, so the log lists changes in the order they took effect.
+ */
+final class ChangeLog {
+
+    private final AtomicLong version = new AtomicLong();
+    private final Deque<MockEmployeeChange> changes = new ArrayDeque<>();
+    private final int retainedChanges;
+
+    ChangeLog(int retainedChanges) {
+        if (retainedChanges < 1) {
+            throw new IllegalArgumentException("At least one change must be retained.");
+        }
+        this.retainedChanges = retainedChanges;
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    void record(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        changes.addLast(new MockEmployeeChange(version.incrementAndGet(), type, mockEmployee));
+        if (changes.size() > retainedChanges) {
+            changes.removeFirst();
+        }
+    }
+
+    synchronized EmployeeStore.ChangeFeed changesSince(long since, int limit) {
+        final long current = version.get();
+        final long oldest = changes.isEmpty() ? current + 1 : changes.peekFirst().version();
+        if (since > current || since < oldest - 1) {
+            return new EmployeeStore.ChangeFeed(List.of(), current, false, true);
+        }
+        final var page = new ArrayList<MockEmployeeChange>(Math.min(limit, changes.size()));
+        long last = since;
+        for (var change : changes) {
+            if (change.version() <= since) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new EmployeeStore.ChangeFeed(page, last, true, false);
+            }
+            page.add(change);
+            last = change.version();
+        }
+        return new EmployeeStore.ChangeFeed(page, last, false, false);
+    }
+}
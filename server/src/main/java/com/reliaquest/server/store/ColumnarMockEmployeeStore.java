@@ -0,0 +1,396 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * {@link EmployeeStore} that keeps employees in primitive columns rather than one object graph per employee: ids as
+ * two {@code long}s, salary and age as {@code int}s, titles and email domains dictionary-encoded, and an
+ * open-addressing id index over row numbers. {@link MockEmployee} objects are only created when an employee is read,
+ * typically while a response is being serialised.
+ * <p>
+ * Rows are appended in insertion order and never reused; a removed row is only marked as removed, and its position is
+ * its row number plus one. Writes are serialised by the change log's monitor and take the write lock; reads take the
+ * read lock for one row, or for one run of rows while iterating.
+ * <p>
+ * Name searches go through a {@link TrigramIndex} over row numbers. It costs a {@code long} per distinct trigram of
+ * every name, the one part of this store that is not dictionary-encoded, but spares a search from reading every name
+ * under the read lock.
+ */
+public class ColumnarMockEmployeeStore implements EmployeeStore {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int ITERATION_BATCH = 1024;
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+    private static final int EMPTY_SLOT = -1;
+    private static final int REMOVED_SLOT = -2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ChangeLog changeLog;
+    private final StringDictionary titles = new StringDictionary();
+    private final StringDictionary emailDomains = new StringDictionary();
+    private final BitSet removed = new BitSet();
+    private final TrigramIndex nameGrams = new TrigramIndex();
+
+    private long[] idHigh;
+    private long[] idLow;
+    private String[] names;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titleCodes;
+    private String[] emailLocalParts;
+    private int[] emailDomainCodes;
+    private int rows;
+    private int live;
+
+    private int[] slots;
+    private int usedSlots;
+
+    public ColumnarMockEmployeeStore() {
+        this(DEFAULT_RETAINED_CHANGES, MIN_CAPACITY);
+    }
+
+    public ColumnarMockEmployeeStore(int retainedChanges, int expectedSize) {
+        this.changeLog = new ChangeLog(retainedChanges);
+        allocate(Math.max(expectedSize, MIN_CAPACITY));
+        this.slots = emptySlots(tableSizeFor(Math.max(expectedSize, MIN_CAPACITY)));
+    }
+
+    public static ColumnarMockEmployeeStore of(Collection<MockEmployee> mockEmployees, int retainedChanges) {
+        final var store = new ColumnarMockEmployeeStore(retainedChanges, mockEmployees.size());
+        mockEmployees.forEach(store::add);
+        return store;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        lock.readLock().lock();
+        try {
+            final int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slots[slot]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee mockEmployee) {
+        final UUID uuid = mockEmployee.getId();
+        if (uuid == null) {
+            throw new NullPointerException("Employee id must not be null.");
+        }
+        synchronized (changeLog) {
+            lock.writeLock().lock();
+            try {
+                if (findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0) {
+                    throw new IllegalStateException("Employee already exists: " + uuid);
+                }
+                append(mockEmployee);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changeLog.record(MockEmployeeChange.Type.CREATED, mockEmployee);
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        synchronized (changeLog) {
+            final MockEmployee mockEmployee;
+            lock.writeLock().lock();
+            try {
+                final int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+                if (slot < 0) {
+                    return Optional.empty();
+                }
+                final int row = slots[slot];
+                mockEmployee = materialize(row);
+                slots[slot] = REMOVED_SLOT;
+                removed.set(row);
+                nameGrams.remove(row, names[row]);
+                names[row] = null;
+                emailLocalParts[row] = null;
+                live--;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changeLog.record(MockEmployeeChange.Type.DELETED, mockEmployee);
+            return Optional.of(mockEmployee);
+        }
+    }
+
+    /**
+     * Scans the name column; there is no name index, as this lookup only backs the legacy delete-by-name.
+     */
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        synchronized (changeLog) {
+            UUID uuid = null;
+            lock.readLock().lock();
+            try {
+                for (int row = 0; row < rows && uuid == null; row++) {
+                    if (!removed.get(row) && name.equalsIgnoreCase(names[row])) {
+                        uuid = new UUID(idHigh[row], idLow[row]);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return uuid == null ? Optional.empty() : removeById(uuid);
+        }
+    }
+
+    /**
+     * Narrows the search down to the rows sharing every trigram of {@code fragment} before taking the read lock, and
+     * then materialises only the matches; fragments shorter than a trigram scan the name column.
+     */
+    @Override
+    public List<MockEmployee> findByNameContaining(@NonNull String fragment) {
+        final var candidates = nameGrams.candidates(fragment);
+        lock.readLock().lock();
+        try {
+            final var matches = new ArrayList<MockEmployee>();
+            if (candidates.isEmpty()) {
+                for (int row = 0; row < rows; row++) {
+                    if (Names.containsIgnoreCase(names[row], fragment) && !removed.get(row)) {
+                        matches.add(materialize(row));
+                    }
+                }
+                return matches;
+            }
+            for (long candidate : candidates.get()) {
+                final int row = (int) candidate;
+                if (Names.containsIgnoreCase(names[row], fragment) && !removed.get(row)) {
+                    matches.add(materialize(row));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Slice slice(long afterPosition, int limit) {
+        lock.readLock().lock();
+        try {
+            final var mockEmployees = new ArrayList<MockEmployee>(Math.min(limit, live));
+            long lastPosition = afterPosition;
+            for (int row = nextLiveRow(afterPosition); row >= 0; row = nextLiveRow(row + 1)) {
+                if (mockEmployees.size() == limit) {
+                    return new Slice(mockEmployees, lastPosition, true);
+                }
+                mockEmployees.add(materialize(row));
+                lastPosition = row + 1L;
+            }
+            return new Slice(mockEmployees, lastPosition, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Materialises employees a run of rows at a time as the view is iterated, so serialising the whole roster never
+     * holds more than one run of {@link MockEmployee} objects or blocks writers for long.
+     */
+    @Override
+    public Collection<MockEmployee> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<MockEmployee> iterator() {
+                return new RowIterator();
+            }
+
+            @Override
+            public int size() {
+                return ColumnarMockEmployeeStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public long version() {
+        return changeLog.version();
+    }
+
+    @Override
+    public ChangeFeed changesSince(long since, int limit) {
+        return changeLog.changesSince(since, limit);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(MockEmployee mockEmployee) {
+        if (rows == idHigh.length) {
+            grow();
+        }
+        final int row = rows;
+        idHigh[row] = mockEmployee.getId().getMostSignificantBits();
+        idLow[row] = mockEmployee.getId().getLeastSignificantBits();
+        names[row] = mockEmployee.getName();
+        salaries[row] = mockEmployee.getSalary() == null ? NO_VALUE : mockEmployee.getSalary();
+        ages[row] = mockEmployee.getAge() == null ? NO_VALUE : mockEmployee.getAge();
+        titleCodes[row] = titles.encode(mockEmployee.getTitle());
+        final String email = mockEmployee.getEmail();
+        final int at = email == null ? -1 : email.lastIndexOf('@');
+        emailLocalParts[row] = at < 0 ? email : email.substring(0, at);
+        emailDomainCodes[row] = at < 0 ? -1 : emailDomains.encode(email.substring(at + 1));
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash(tableSizeFor(live + 1));
+        }
+        insertSlot(row);
+        nameGrams.add(row, names[row]);
+        rows++;
+        live++;
+    }
+
+    private MockEmployee materialize(int row) {
+        final String emailLocalPart = emailLocalParts[row];
+        final String emailDomain = emailDomains.decode(emailDomainCodes[row]);
+        return MockEmployee.builder()
+                .id(new UUID(idHigh[row], idLow[row]))
+                .name(names[row])
+                .salary(salaries[row] == NO_VALUE ? null : salaries[row])
+                .age(ages[row] == NO_VALUE ? null : ages[row])
+                .title(titles.decode(titleCodes[row]))
+                .email(emailDomain == null ? emailLocalPart : emailLocalPart + "@" + emailDomain)
+                .build();
+    }
+
+    /*
+     * First live row at or after the row with the given number (positions are row numbers plus one, so a position is
+     * also the number of the row after it), or -1.
+     */
+    private int nextLiveRow(long fromRow) {
+        if (fromRow >= rows) {
+            return -1;
+        }
+        final int row = removed.nextClearBit((int) Math.max(fromRow, 0));
+        return row < rows ? row : -1;
+    }
+
+    private int findSlot(long high, long low) {
+        final int mask = slots.length - 1;
+        for (int slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            final int row = slots[slot];
+            if (row == EMPTY_SLOT) {
+                return -1;
+            }
+            if (row >= 0 && idHigh[row] == high && idLow[row] == low) {
+                return slot;
+            }
+        }
+    }
+
+    private void insertSlot(int row) {
+        final int mask = slots.length - 1;
+        int slot = hash(idHigh[row], idLow[row]) & mask;
+        while (slots[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == EMPTY_SLOT) {
+            usedSlots++;
+        }
+        slots[slot] = row;
+    }
+
+    /*
+     * Rebuilds the id index without the slots left behind by removed rows.
+     */
+    private void rehash(int tableSize) {
+        slots = emptySlots(tableSize);
+        usedSlots = 0;
+        for (int row = nextLiveRow(0); row >= 0; row = nextLiveRow(row + 1)) {
+            insertSlot(row);
+        }
+    }
+
+    private void allocate(int capacity) {
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        names = new String[capacity];
+        salaries = new int[capacity];
+        ages = new int[capacity];
+        titleCodes = new int[capacity];
+        emailLocalParts = new String[capacity];
+        emailDomainCodes = new int[capacity];
+    }
+
+    private void grow() {
+        final int capacity = idHigh.length + (idHigh.length >> 1);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        names = Arrays.copyOf(names, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        emailLocalParts = Arrays.copyOf(emailLocalParts, capacity);
+        emailDomainCodes = Arrays.copyOf(emailDomainCodes, capacity);
+    }
+
+    private static int[] emptySlots(int size) {
+        final int[] table = new int[size];
+        Arrays.fill(table, EMPTY_SLOT);
+        return table;
+    }
+
+    /*
+     * Power of two that keeps the index at most half full.
+     */
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(Math.max(entries, MIN_CAPACITY) * 4 - 1);
+    }
+
+    private static int hash(long high, long low) {
+        final long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private class RowIterator implements Iterator<MockEmployee> {
+
+        private Iterator<MockEmployee> batch = Collections.emptyIterator();
+        private long position;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && !exhausted) {
+                final var slice = slice(position, ITERATION_BATCH);
+                batch = slice.mockEmployees().iterator();
+                position = slice.lastPosition();
+                exhausted = !slice.hasMore();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public MockEmployee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+}
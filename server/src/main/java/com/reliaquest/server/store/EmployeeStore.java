@@ -0,0 +1,72 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Thread-safe employee store keyed by id.
+ * <p>
+ * Every employee is assigned an insertion position; iteration follows that order, so employees are listed in the order
+ * they were added. Iteration is weakly consistent and never fails under concurrent writes.
+ * <p>
+ * Every successful add or remove bumps {@link #version()}, so callers can tell whether the roster changed without
+ * comparing it, and is appended to a bounded change log that lets them follow the roster one change at a time.
+ */
+public interface EmployeeStore {
+
+    int DEFAULT_RETAINED_CHANGES = 1000;
+
+    Optional<MockEmployee> findById(@NonNull UUID uuid);
+
+    /**
+     * @throws IllegalStateException if an employee with the same id is already stored
+     */
+    void add(@NonNull MockEmployee mockEmployee);
+
+    Optional<MockEmployee> removeById(@NonNull UUID uuid);
+
+    /**
+     * Removes the earliest added employee whose name matches {@code name}, ignoring case.
+     */
+    Optional<MockEmployee> removeFirstByName(@NonNull String name);
+
+    /**
+     * Employees whose name contains {@code fragment}, ignoring case, in insertion order.
+     */
+    List<MockEmployee> findByNameContaining(@NonNull String fragment);
+
+    /**
+     * Returns up to {@code limit} employees added after {@code afterPosition}, in insertion order. Positions are never
+     * reused, so walking the store slice by slice neither skips nor repeats employees when others are added or
+     * removed in between; employees added meanwhile show up in later slices.
+     */
+    Slice slice(long afterPosition, int limit);
+
+    /**
+     * Live, insertion-ordered view of all employees.
+     */
+    Collection<MockEmployee> values();
+
+    /**
+     * Number of changes applied so far. Read it before reading the employees: the employees are then at least as
+     * recent as the version, never older.
+     */
+    long version();
+
+    /**
+     * Returns up to {@code limit} changes made after version {@code since}, oldest first. The feed is truncated when
+     * changes after {@code since} have already been dropped from the log, or when {@code since} lies in the future.
+     */
+    ChangeFeed changesSince(long since, int limit);
+
+    int size();
+
+    record Slice(List<MockEmployee> mockEmployees, long lastPosition, boolean hasMore) {}
+
+    record ChangeFeed(List<MockEmployeeChange> changes, long version, boolean hasMore, boolean truncated) {}
+}
@@ -0,0 +1,190 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+
+/**
+ * {@link EmployeeStore} over {@link MockEmployee} objects, with a case-insensitive name index and a trigram index for
+ * name searches. Reads other than searches are lock-free; writes are serialised only around the id map.
+ */
+public class MockEmployeeStore implements EmployeeStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<Long>> byName = new ConcurrentHashMap<>();
+    private final TrigramIndex nameGrams = new TrigramIndex();
+    private final ChangeLog changeLog;
+
+    public MockEmployeeStore() {
+        this(DEFAULT_RETAINED_CHANGES);
+    }
+
+    public MockEmployeeStore(int retainedChanges) {
+        this.changeLog = new ChangeLog(retainedChanges);
+    }
+
+    public static MockEmployeeStore of(Collection<MockEmployee> mockEmployees) {
+        return of(mockEmployees, DEFAULT_RETAINED_CHANGES);
+    }
+
+    public static MockEmployeeStore of(Collection<MockEmployee> mockEmployees, int retainedChanges) {
+        final var store = new MockEmployeeStore(retainedChanges);
+        mockEmployees.forEach(store::add);
+        return store;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid)).map(Entry::mockEmployee);
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee mockEmployee) {
+        Objects.requireNonNull(mockEmployee.getId(), "Employee id must not be null.");
+        final long position = sequence.incrementAndGet();
+        // Publish through the id map last, so any employee that can be removed is already fully indexed.
+        bySequence.put(position, mockEmployee);
+        if (mockEmployee.getName() != null) {
+            byName.compute(nameKey(mockEmployee.getName()), (key, positions) -> {
+                final NavigableSet<Long> updated = positions == null ? new ConcurrentSkipListSet<>() : positions;
+                updated.add(position);
+                return updated;
+            });
+            nameGrams.add(position, mockEmployee.getName());
+        }
+        synchronized (changeLog) {
+            if (byId.putIfAbsent(mockEmployee.getId(), new Entry(position, mockEmployee)) == null) {
+                changeLog.record(MockEmployeeChange.Type.CREATED, mockEmployee);
+                return;
+            }
+        }
+        unindex(position, mockEmployee);
+        throw new IllegalStateException("Employee already exists: " + mockEmployee.getId());
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        final Entry entry;
+        synchronized (changeLog) {
+            entry = byId.remove(uuid);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            // Unindexed before the version moves on, so a reader never sees a version newer than the employees.
+            unindex(entry.position(), entry.mockEmployee());
+            changeLog.record(MockEmployeeChange.Type.DELETED, entry.mockEmployee());
+        }
+        return Optional.of(entry.mockEmployee());
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var positions = byName.get(nameKey(name));
+        if (positions == null) {
+            return Optional.empty();
+        }
+        for (Long position : positions) {
+            final var mockEmployee = bySequence.get(position);
+            if (mockEmployee != null) {
+                final var removed = removeById(mockEmployee.getId());
+                if (removed.isPresent()) {
+                    return removed;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Looks up only the employees whose names share every trigram of {@code fragment}; fragments shorter than a
+     * trigram scan the roster.
+     */
+    @Override
+    public List<MockEmployee> findByNameContaining(@NonNull String fragment) {
+        final var matches = new ArrayList<MockEmployee>();
+        final var candidates = nameGrams.candidates(fragment);
+        if (candidates.isEmpty()) {
+            for (var mockEmployee : bySequence.values()) {
+                if (Names.containsIgnoreCase(mockEmployee.getName(), fragment)) {
+                    matches.add(mockEmployee);
+                }
+            }
+            return matches;
+        }
+        for (long position : candidates.get()) {
+            final var mockEmployee = bySequence.get(position);
+            if (mockEmployee != null && Names.containsIgnoreCase(mockEmployee.getName(), fragment)) {
+                matches.add(mockEmployee);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public Slice slice(long afterPosition, int limit) {
+        final var mockEmployees = new ArrayList<MockEmployee>(limit);
+        long lastPosition = afterPosition;
+        for (var entry : bySequence.tailMap(afterPosition, false).entrySet()) {
+            if (mockEmployees.size() == limit) {
+                return new Slice(mockEmployees, lastPosition, true);
+            }
+            mockEmployees.add(entry.getValue());
+            lastPosition = entry.getKey();
+        }
+        return new Slice(mockEmployees, lastPosition, false);
+    }
+
+    @Override
+    public Collection<MockEmployee> values() {
+        return Collections.unmodifiableCollection(bySequence.values());
+    }
+
+    @Override
+    public long version() {
+        return changeLog.version();
+    }
+
+    @Override
+    public ChangeFeed changesSince(long since, int limit) {
+        return changeLog.changesSince(since, limit);
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    private void unindex(long position, MockEmployee mockEmployee) {
+        bySequence.remove(position);
+        if (mockEmployee.getName() != null) {
+            byName.computeIfPresent(nameKey(mockEmployee.getName()), (key, positions) -> {
+                positions.remove(position);
+                return positions.isEmpty() ? null : positions;
+            });
+            nameGrams.remove(position, mockEmployee.getName());
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long position, MockEmployee mockEmployee) {}
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.server.store;
+
+/**
+ * Name matching shared by the store implementations.
+ */
+final class Names {
+
+    private Names() {}
+
+    /**
+     * Whether {@code name} contains {@code fragment}, ignoring case, without allocating a lower-cased copy of either.
+     */
+    static boolean containsIgnoreCase(String name, String fragment) {
+        if (name == null) {
+            return false;
+        }
+        final int last = name.length() - fragment.length();
+        for (int start = 0; start <= last; start++) {
+            if (name.regionMatches(true, start, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.server.store;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index from lower-cased names to store positions, the server-side counterpart of the api's name
+ * index. Unlike that one it is patched in place, so the stores keep it up to date with every add and remove.
+ * <p>
+ * {@link #candidates(String)} only narrows a search down: callers still check every candidate against the name they
+ * hold, so a position removed meanwhile is never reported by mistake. Postings are sorted arrays
+ * of positions guarded by the index's own lock, which is held only while they are patched or intersected.
+ */
+final class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    private static final long[] NO_POSTINGS = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    void add(long position, String name) {
+        final var grams = grams(name);
+        if (grams.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            grams.forEach(gram -> postings.computeIfAbsent(gram, key -> new Postings()).add(position));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long position, String name) {
+        final var grams = grams(name);
+        if (grams.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String gram : grams) {
+                final var gramPostings = postings.get(gram);
+                if (gramPostings != null && gramPostings.remove(position) && gramPostings.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Positions, in ascending order, whose names contain every trigram of {@code fragment}, ignoring case; empty when
+     * the fragment is shorter than a trigram and the caller has to scan instead.
+     */
+    Optional<long[]> candidates(String fragment) {
+        final var grams = grams(fragment);
+        if (grams.isEmpty()) {
+            return Optional.empty();
+        }
+        final var lists = new Postings[grams.size()];
+        lock.readLock().lock();
+        try {
+            int i = 0;
+            for (String gram : grams) {
+                final var gramPostings = postings.get(gram);
+                if (gramPostings == null) {
+                    return Optional.of(NO_POSTINGS);
+                }
+                lists[i++] = gramPostings;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            final long[] candidates = lists[0].toArray();
+            int count = candidates.length;
+            for (int l = 1; l < lists.length && count > 0; l++) {
+                int kept = 0;
+                for (int c = 0; c < count; c++) {
+                    if (lists[l].search(candidates[c]) >= 0) {
+                        candidates[kept++] = candidates[c];
+                    }
+                }
+                count = kept;
+            }
+            return Optional.of(count == candidates.length ? candidates : Arrays.copyOf(candidates, count));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String name) {
+        if (name == null || name.length() < GRAM) {
+            return Set.of();
+        }
+        final var normalized = name.toLowerCase(Locale.ROOT);
+        final var grams = new LinkedHashSet<String>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /*
+     * Sorted, growable array of positions. Positions mostly arrive in ascending order, so adding is usually an append.
+     */
+    private static final class Postings {
+
+        private long[] positions = new long[4];
+        private int size;
+
+        void add(long position) {
+            int index = size == 0 || positions[size - 1] < position ? -(size + 1) : search(position);
+            if (index >= 0) {
+                return;
+            }
+            index = -(index + 1);
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size + (size >> 1));
+            }
+            System.arraycopy(positions, index, positions, index + 1, size - index);
+            positions[index] = position;
+            size++;
+        }
+
+        boolean remove(long position) {
+            final int index = search(position);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+
+        private int search(long position) {
+            return Arrays.binarySearch(positions, 0, size, position);
+        }
+    }
+}
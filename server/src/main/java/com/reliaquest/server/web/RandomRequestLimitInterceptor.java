@@ -7,37 +7,57 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Randomly sized fixed request budget; once it is used up, requests are refused with 429 until the backoff passes.
+ * Requests are charged atomically as they arrive, so concurrent requests cannot overrun the budget. A request answered
+ * with 304 gets its charge back: revalidating an unchanged roster costs the server next to nothing.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
+    static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
 
+    private static final String CHARGED_ATTRIBUTE = RandomRequestLimitInterceptor.class.getName() + ".charged";
+
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
+        while (true) {
+            final var current = requestLimit.get();
+            final var now = Instant.now();
+            final RequestLimit charged;
+            if (current.getCount() < REQUEST_LIMIT) {
+                charged = new RequestLimit(current.getCount() + 1, now);
+            } else if (now.minus(REQUEST_BACKOFF_DURATION).isBefore(current.getLastRequested())) {
+                final var retryAfter =
+                        Duration.between(now, current.getLastRequested().plus(REQUEST_BACKOFF_DURATION));
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds() + 1)));
                 return false;
+            } else {
+                charged = new RequestLimit(1, now);
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (requestLimit.compareAndSet(current, charged)) {
+                request.setAttribute(CHARGED_ATTRIBUTE, Boolean.TRUE);
+                return true;
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
+    }
 
-        return true;
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()
+                && request.getAttribute(CHARGED_ATTRIBUTE) != null) {
+            requestLimit.getAndUpdate(currentRequestLimit -> new RequestLimit(
+                    Math.max(0, currentRequestLimit.count() - 1), currentRequestLimit.lastRequested()));
+        }
     }
 
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
@@ -0,0 +1,63 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class SalaryIndexTest {
+
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    @Test
+    public void emptyIndexHasNoHighestSalary() {
+        assertEquals(OptionalInt.empty(), salaryIndex.highestSalary());
+        assertEquals(List.of(), salaryIndex.topEarnerNames(10));
+    }
+
+    @Test
+    public void topEarnersAreOrderedBySalaryThenByIndexingOrder() {
+        salaryIndex.add(employee("A", 500));
+        salaryIndex.add(employee("B", 900));
+        salaryIndex.add(employee("C", 500));
+        salaryIndex.add(employee("D", 300));
+
+        assertEquals(OptionalInt.of(900), salaryIndex.highestSalary());
+        assertEquals(List.of("B", "A", "C"), salaryIndex.topEarnerNames(3));
+        assertEquals(List.of("B", "A", "C", "D"), salaryIndex.topEarnerNames(10));
+    }
+
+    @Test
+    public void removedEmployeesLeaveTheRanking() {
+        MockEmployee highest = employee("B", 900);
+        salaryIndex.add(employee("A", 500));
+        salaryIndex.add(highest);
+
+        salaryIndex.remove(highest.getId());
+        salaryIndex.remove(UUID.randomUUID());
+
+        assertEquals(OptionalInt.of(500), salaryIndex.highestSalary());
+        assertEquals(List.of("A"), salaryIndex.topEarnerNames(10));
+    }
+
+    @Test
+    public void employeesWithoutSalaryOrAlreadyIndexedAreIgnored() {
+        MockEmployee employee = employee("A", 500);
+        salaryIndex.add(employee);
+        salaryIndex.add(employee.toBuilder().salary(700).build());
+        salaryIndex.add(employee("B", null));
+
+        assertEquals(List.of("A"), salaryIndex.topEarnerNames(10));
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .build();
+    }
+}
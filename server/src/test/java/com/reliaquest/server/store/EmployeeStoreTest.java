@@ -0,0 +1,192 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Behaviour every {@link EmployeeStore} layout has to share.
+ */
+public class EmployeeStoreTest {
+
+    static Stream<Named<Supplier<EmployeeStore>>> layouts() {
+        return Stream.of(
+                Named.of("objects", MockEmployeeStore::new),
+                Named.of("columnar", () -> new ColumnarMockEmployeeStore(EmployeeStore.DEFAULT_RETAINED_CHANGES, 4)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void addedEmployeesAreFoundByIdAsStored(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        MockEmployee withoutDetails = MockEmployee.builder().id(UUID.randomUUID()).build();
+        store.add(annLee);
+        store.add(withoutDetails);
+
+        assertEquals(Optional.of(annLee), store.findById(annLee.getId()));
+        assertEquals(Optional.of(withoutDetails), store.findById(withoutDetails.getId()));
+        assertEquals(Optional.empty(), store.findById(UUID.randomUUID()));
+        assertEquals(2, store.size());
+        assertEquals(2, store.version());
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void addingAnExistingIdFailsAndChangesNothing(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        store.add(annLee);
+
+        assertThrows(IllegalStateException.class, () -> store.add(annLee.toBuilder().name("Someone Else").build()));
+
+        assertEquals(List.of(annLee), List.copyOf(store.values()));
+        assertEquals(List.of(), store.findByNameContaining("someone"));
+        assertEquals(1, store.version());
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void removedEmployeesAreGoneAndReAddedOnesMoveToTheEnd(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        MockEmployee bobStone = employee("Bob Stone");
+        store.add(annLee);
+        store.add(bobStone);
+
+        assertEquals(Optional.of(annLee), store.removeById(annLee.getId()));
+        assertEquals(Optional.empty(), store.removeById(annLee.getId()));
+        assertEquals(Optional.empty(), store.findById(annLee.getId()));
+        assertEquals(List.of(bobStone), List.copyOf(store.values()));
+
+        store.add(annLee);
+
+        assertEquals(Optional.of(annLee), store.findById(annLee.getId()));
+        assertEquals(List.of(bobStone, annLee), List.copyOf(store.values()));
+        assertEquals(2, store.size());
+        assertEquals(4, store.version());
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void removingByNameTakesTheEarliestMatch(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee first = employee("Ann Lee");
+        MockEmployee second = employee("ann lee");
+        store.add(first);
+        store.add(second);
+
+        assertEquals(Optional.of(first), store.removeFirstByName("ANN LEE"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Ann Lee"));
+        assertEquals(Optional.empty(), store.removeFirstByName("Ann Lee"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void slicesWalkTheStoreWithoutSkippingOrRepeating(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        List<MockEmployee> roster =
+                IntStream.range(0, 10).mapToObj(i -> employee("Employee " + i)).toList();
+        roster.forEach(store::add);
+
+        EmployeeStore.Slice first = store.slice(0, 4);
+        assertEquals(roster.subList(0, 4), first.mockEmployees());
+        assertTrue(first.hasMore());
+
+        store.removeById(roster.get(4).getId());
+        store.removeById(roster.get(1).getId());
+        MockEmployee added = employee("Employee 10");
+        store.add(added);
+
+        EmployeeStore.Slice second = store.slice(first.lastPosition(), 4);
+        assertEquals(roster.subList(5, 9), second.mockEmployees());
+        assertTrue(second.hasMore());
+        EmployeeStore.Slice last = store.slice(second.lastPosition(), 4);
+        assertEquals(List.of(roster.get(9), added), last.mockEmployees());
+        assertFalse(last.hasMore());
+        assertEquals(List.of(), store.slice(last.lastPosition(), 4).mockEmployees());
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void searchFindsFragmentsAnywhereInTheNameIgnoringCase(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        MockEmployee joanna = employee("Joanna Banner");
+        store.add(annLee);
+        store.add(employee("Bob Stone"));
+        store.add(joanna);
+
+        assertEquals(List.of(annLee, joanna), store.findByNameContaining("ANN"));
+        assertEquals(List.of(joanna), store.findByNameContaining("nna ban"));
+        assertEquals(List.of(), store.findByNameContaining("xyz"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void fragmentsShorterThanATrigramStillMatch(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        store.add(annLee);
+        store.add(employee("Bob Stone"));
+
+        assertEquals(List.of(annLee), store.findByNameContaining("lE"));
+        assertEquals(2, store.findByNameContaining("").size());
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void removedEmployeesAreNoLongerFoundAndReAddedOnesAre(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        MockEmployee annLee = employee("Ann Lee");
+        MockEmployee annaBell = employee("Anna Bell");
+        store.add(annLee);
+        store.add(annaBell);
+
+        store.removeById(annLee.getId());
+        assertEquals(List.of(annaBell), store.findByNameContaining("ann"));
+
+        store.add(annLee);
+        assertEquals(List.of(annaBell, annLee), store.findByNameContaining("ann"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("layouts")
+    public void searchAgreesWithAScanOfTheRoster(Supplier<EmployeeStore> layout) {
+        EmployeeStore store = layout.get();
+        String[] parts = {"ann", "bel", "lee", "mar", "tin", "son", "ric", "ada"};
+        List<MockEmployee> roster = IntStream.range(0, 500)
+                .mapToObj(i -> employee(parts[i % parts.length] + parts[(i / 3) % parts.length] + " "
+                        + parts[(i / 7) % parts.length] + i))
+                .toList();
+        roster.forEach(store::add);
+        roster.stream().filter(e -> e.getName().endsWith("5")).forEach(e -> store.removeById(e.getId()));
+
+        for (String fragment : new String[] {"annbel", "lee ", "ricada", "son1", "Tin Mar", "a"}) {
+            List<MockEmployee> expected = store.values().stream()
+                    .filter(e -> Names.containsIgnoreCase(e.getName(), fragment))
+                    .toList();
+            assertEquals(expected, store.findByNameContaining(fragment), fragment);
+        }
+    }
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(1000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.').toLowerCase() + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.EmployeeStoreTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link MockEmployeeStore} under concurrent writers: whatever the interleaving, once the writers are done the id map,
+ * the roster order, the name indexes and the version have to agree.
+ */
+public class MockEmployeeStoreTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentAddsOfOneIdStoreExactlyOne() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore();
+        UUID id = UUID.randomUUID();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockEmployee>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            MockEmployee racer = employee("Racer " + i).toBuilder().id(id).build();
+            attempts.add(executor.submit(() -> {
+                start.await();
+                store.add(racer);
+                return racer;
+            }));
+        }
+        start.countDown();
+
+        List<MockEmployee> stored = new ArrayList<>();
+        int rejected = 0;
+        for (Future<MockEmployee> attempt : attempts) {
+            try {
+                stored.add(attempt.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                rejected++;
+            }
+        }
+
+        assertEquals(1, stored.size());
+        assertEquals(THREADS - 1, rejected);
+        MockEmployee winner = stored.get(0);
+        assertEquals(Optional.of(winner), store.findById(id));
+        assertEquals(List.of(winner), List.copyOf(store.values()));
+        assertEquals(List.of(winner), store.findByNameContaining("racer"));
+        assertEquals(List.of(winner), store.findByNameContaining("ra"));
+        assertEquals(1, store.size());
+        assertEquals(1, store.version());
+        assertEquals(1, store.changesSince(0, 10).changes().size());
+    }
+
+    @Test
+    public void removeByIdRacingAddLeavesTheIndexesConsistent() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore();
+        List<MockEmployee> pool = IntStream.range(0, 16)
+                .mapToObj(i -> employee("Pool Member " + (char) ('a' + i)))
+                .toList();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(churn(store, pool, start, 2_000)));
+        }
+        start.countDown();
+
+        long applied = 0;
+        for (Future<Integer> worker : workers) {
+            applied += worker.get(30, TimeUnit.SECONDS);
+        }
+
+        List<MockEmployee> present = List.copyOf(store.values());
+        Set<UUID> presentIds = new HashSet<>();
+        present.forEach(employee -> assertTrue(presentIds.add(employee.getId()), "listed twice: " + employee));
+        assertEquals(present.size(), store.size());
+        assertEquals(applied, store.version());
+        assertEquals(present, store.slice(0, pool.size()).mockEmployees());
+        for (MockEmployee employee : pool) {
+            boolean isPresent = presentIds.contains(employee.getId());
+            assertEquals(isPresent ? Optional.of(employee) : Optional.empty(), store.findById(employee.getId()));
+            assertEquals(
+                    isPresent ? List.of(employee) : List.of(),
+                    store.findByNameContaining(employee.getName()),
+                    employee.getName());
+        }
+        assertEquals(present, store.findByNameContaining("pool member"));
+    }
+
+    @Test
+    public void iteratingDuringWritesSeesEveryUntouchedEmployeeOnce() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore();
+        List<MockEmployee> untouched =
+                IntStream.range(0, 100).mapToObj(i -> employee("Resident " + i)).toList();
+        untouched.forEach(store::add);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Future<?> writer = executor.submit(() -> {
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    MockEmployee visitor = employee("Visitor " + i);
+                    store.add(visitor);
+                    store.removeById(visitor.getId());
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+
+        int walks = 0;
+        while (writing.get() || walks == 0) {
+            List<MockEmployee> listed = List.copyOf(store.values());
+            assertEquals(untouched, listed.subList(0, untouched.size()));
+
+            List<MockEmployee> walked = new ArrayList<>();
+            EmployeeStore.Slice slice;
+            long after = 0;
+            do {
+                slice = store.slice(after, 7);
+                walked.addAll(slice.mockEmployees());
+                after = slice.lastPosition();
+            } while (slice.hasMore());
+            assertEquals(untouched, walked.subList(0, untouched.size()));
+            assertEquals(walked.size(), new HashSet<>(walked).size());
+
+            assertEquals(untouched, store.findByNameContaining("resident"));
+            walks++;
+        }
+        writer.get(30, TimeUnit.SECONDS);
+
+        assertEquals(untouched, List.copyOf(store.values()));
+        assertEquals(List.of(), store.findByNameContaining("visitor"));
+        assertEquals(untouched.size() + 40_000L, store.version());
+    }
+
+    /**
+     * Adds and removes employees picked at random from {@code pool}, returning how many of its calls changed the
+     * store; adds of an employee another thread already holds are expected to fail.
+     */
+    private static Callable<Integer> churn(
+            MockEmployeeStore store, List<MockEmployee> pool, CountDownLatch start, int operations) {
+        return () -> {
+            start.await();
+            int applied = 0;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < operations; i++) {
+                MockEmployee employee = pool.get(random.nextInt(pool.size()));
+                if (random.nextBoolean()) {
+                    try {
+                        store.add(employee);
+                        applied++;
+                    } catch (IllegalStateException alreadyPresent) {
+                        // another thread holds this id
+                    }
+                } else if (store.removeById(employee.getId()).isPresent()) {
+                    applied++;
+                }
+            }
+            return applied;
+        };
+    }
+}
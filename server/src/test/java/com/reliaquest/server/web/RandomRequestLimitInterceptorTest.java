@@ -0,0 +1,101 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RandomRequestLimitInterceptorTest {
+
+    private final RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor();
+
+    @Test
+    public void concurrentRequestsCannotOverrunTheBudget() throws Exception {
+        int requests = RandomRequestLimitInterceptor.REQUEST_LIMIT * 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> admitted = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                admitted.add(executor.submit(() -> {
+                    start.await();
+                    return interceptor.preHandle(
+                            new MockHttpServletRequest("GET", "/api/v1/employee"), new MockHttpServletResponse(), null);
+                }));
+            }
+            start.countDown();
+
+            int count = 0;
+            for (Future<Boolean> result : admitted) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    count++;
+                }
+            }
+            assertEquals(RandomRequestLimitInterceptor.REQUEST_LIMIT, count);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void refusedRequestsAreToldWhenToRetry() {
+        for (int i = 0; i < RandomRequestLimitInterceptor.REQUEST_LIMIT; i++) {
+            assertTrue(handle(HttpStatus.OK));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void notModifiedResponsesAreRefunded() {
+        for (int i = 0; i < RandomRequestLimitInterceptor.REQUEST_LIMIT * 3; i++) {
+            assertTrue(handle(HttpStatus.NOT_MODIFIED));
+        }
+        for (int i = 0; i < RandomRequestLimitInterceptor.REQUEST_LIMIT; i++) {
+            assertTrue(handle(HttpStatus.OK));
+        }
+
+        assertFalse(handle(HttpStatus.OK));
+    }
+
+    @Test
+    public void refusedRequestsAreNotRefunded() {
+        for (int i = 0; i < RandomRequestLimitInterceptor.REQUEST_LIMIT; i++) {
+            assertTrue(handle(HttpStatus.OK));
+        }
+        MockHttpServletRequest refused = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(refused, response, null));
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        interceptor.afterCompletion(refused, response, null, null);
+
+        assertFalse(handle(HttpStatus.OK));
+    }
+
+    /**
+     * Runs one request through the interceptor, completing it with {@code status} if it was let through.
+     */
+    private boolean handle(HttpStatus status) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, null);
+        if (admitted) {
+            response.setStatus(status.value());
+            interceptor.afterCompletion(request, response, null, null);
+        }
+        return admitted;
+    }
+}